@@ -49,6 +49,7 @@ public class MonitorController extends BaseController {
     public String index(HttpServletRequest request, ModelMap model) {
         Map<String, String> params = getParams(request);
         model.put("threadInfo", monitorService.getThreadInfo());
+        model.put("metrics", monitorService.getIncrementMetrics());
         model.put("metaId", monitorService.getDefaultMetaId(params));
         model.put("meta", monitorService.getMetaAll());
         model.put("data", monitorService.queryData(params));
@@ -68,6 +69,17 @@ public class MonitorController extends BaseController {
         }
     }
 
+    @GetMapping("/queryMetrics")
+    @ResponseBody
+    public RestResult queryMetrics() {
+        try {
+            return RestResult.restSuccess(monitorService.getIncrementMetrics());
+        } catch (Exception e) {
+            logger.error(e.getLocalizedMessage(), e.getClass());
+            return RestResult.restFail(e.getMessage());
+        }
+    }
+
     @GetMapping("/queryLog")
     @ResponseBody
     public RestResult queryLog(HttpServletRequest request) {
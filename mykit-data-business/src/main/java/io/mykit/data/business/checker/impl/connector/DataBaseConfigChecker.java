@@ -4,6 +4,7 @@ package io.mykit.data.business.checker.impl.connector;
 import io.mykit.data.business.checker.ConnectorConfigChecker;
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.parser.model.Connector;
+import org.apache.commons.lang.math.NumberUtils;
 import org.springframework.util.Assert;
 
 import java.util.Map;
@@ -26,6 +27,16 @@ public abstract class DataBaseConfigChecker implements ConnectorConfigChecker {
         config.setPassword(password);
         config.setUrl(url);
         config.setDriverClassName(driverClassName);
+
+        // 连接池参数(可选)
+        config.setMaxActive(NumberUtils.toInt(params.get("maxActive"), config.getMaxActive()));
+        config.setMaxIdle(NumberUtils.toInt(params.get("maxIdle"), config.getMaxIdle()));
+        config.setMinIdle(NumberUtils.toInt(params.get("minIdle"), config.getMinIdle()));
+        config.setMaxWait(NumberUtils.toLong(params.get("maxWait"), config.getMaxWait()));
+        Assert.isTrue(0 < config.getMaxActive(), "MaxActive must be greater than 0.");
+        Assert.isTrue(0 <= config.getMaxIdle() && config.getMaxIdle() <= config.getMaxActive(), "MaxIdle must be between 0 and maxActive.");
+        Assert.isTrue(0 <= config.getMinIdle() && config.getMinIdle() <= config.getMaxIdle(), "MinIdle must be between 0 and maxIdle.");
+        Assert.isTrue(0 < config.getMaxWait(), "MaxWait must be greater than 0.");
     }
 
     protected void modifyDql(Connector connector, Map<String, String> params) {
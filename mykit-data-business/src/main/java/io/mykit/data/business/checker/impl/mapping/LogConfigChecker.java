@@ -10,6 +10,7 @@ import io.mykit.data.monitor.config.ListenerConfig;
 import io.mykit.data.monitor.enums.ListenerTypeEnum;
 import io.mykit.data.parser.model.Connector;
 import io.mykit.data.parser.model.Mapping;
+import org.apache.commons.lang.math.NumberUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -49,6 +50,44 @@ public class LogConfigChecker implements MappingConfigChecker, ApplicationContex
         Assert.notNull(listener, "ListenerConfig can not be null.");
 
         listener.setListenerType(ListenerTypeEnum.LOG.getType());
+
+        // 批量写入
+        String batchNum = params.get("incrementStrategyLogBatchNum");
+        listener.setBatchNum(NumberUtils.toInt(batchNum, listener.getBatchNum()));
+        String batchPeriod = params.get("incrementStrategyLogBatchPeriod");
+        listener.setBatchPeriod(NumberUtils.toLong(batchPeriod, listener.getBatchPeriod()));
+        Assert.isTrue(listener.getBatchPeriod() > 0, "批量等待时间必须大于0.");
+        String coalesce = params.get("incrementStrategyLogCoalesce");
+        if (StringUtils.isNotBlank(coalesce)) {
+            listener.setCoalesce(Boolean.parseBoolean(coalesce));
+        }
+        String verifyChecksum = params.get("incrementStrategyLogVerifyChecksum");
+        if (StringUtils.isNotBlank(verifyChecksum)) {
+            listener.setVerifyChecksum(Boolean.parseBoolean(verifyChecksum));
+        }
+        String laneNum = params.get("incrementStrategyLogLaneNum");
+        listener.setLaneNum(NumberUtils.toInt(laneNum, listener.getLaneNum()));
+        Assert.isTrue(listener.getLaneNum() > 0, "通道数必须大于0.");
+        String transaction = params.get("incrementStrategyLogTransaction");
+        if (StringUtils.isNotBlank(transaction)) {
+            listener.setTransaction(Boolean.parseBoolean(transaction));
+        }
+        String maxTransactionRows = params.get("incrementStrategyLogMaxTransactionRows");
+        listener.setMaxTransactionRows(NumberUtils.toInt(maxTransactionRows, listener.getMaxTransactionRows()));
+        Assert.isTrue(listener.getMaxTransactionRows() > 0, "事务上限必须大于0.");
+
+        // 本地binlog回放
+        String replayPath = params.get("incrementStrategyLogReplayPath");
+        if (null != replayPath) {
+            listener.setReplayPath(replayPath.trim());
+        }
+        String replayStopFileName = params.get("incrementStrategyLogReplayStopFileName");
+        if (null != replayStopFileName) {
+            listener.setReplayStopFileName(replayStopFileName.trim());
+        }
+        String replayStopPosition = params.get("incrementStrategyLogReplayStopPosition");
+        listener.setReplayStopPosition(NumberUtils.toLong(replayStopPosition, listener.getReplayStopPosition()));
+        Assert.isTrue(listener.getReplayStopPosition() >= 0, "回放停止位置不能小于0.");
     }
 
 }
\ No newline at end of file
@@ -101,6 +101,19 @@ public class MappingChecker extends AbstractChecker implements ApplicationContex
         mapping.setThreadNum(NumberUtils.toInt(threadNum, mapping.getThreadNum()));
         String batchNum = params.get("batchNum");
         mapping.setBatchNum(NumberUtils.toInt(batchNum, mapping.getBatchNum()));
+        String splitNum = params.get("splitNum");
+        mapping.setSplitNum(NumberUtils.toInt(splitNum, mapping.getSplitNum()));
+        Assert.isTrue(mapping.getSplitNum() > 0, "分片数必须大于0.");
+        String stream = params.get("stream");
+        if (StringUtils.isNotBlank(stream)) {
+            mapping.setStream(Boolean.parseBoolean(stream));
+        }
+
+        // 写入模式
+        String upsert = params.get("upsert");
+        if (StringUtils.isNotBlank(upsert)) {
+            mapping.setUpsert(Boolean.parseBoolean(upsert));
+        }
 
         // 增量配置(日志/定时)
         String incrementStrategy = params.get("incrementStrategy");
@@ -36,6 +36,13 @@ public interface MonitorService {
      */
     Map getThreadInfo();
 
+    /**
+     * 获取增量指标
+     *
+     * @return
+     */
+    List<Map<String, Object>> getIncrementMetrics();
+
     /**
      * 获取驱动元信息列表
      *
@@ -64,6 +64,11 @@ public class MonitorServiceImpl  implements MonitorService {
         return monitor.getThreadInfo();
     }
 
+    @Override
+    public List<Map<String, Object>> getIncrementMetrics() {
+        return monitor.getIncrementMetrics();
+    }
+
     @Override
     public List<MetaVo> getMetaAll() {
         List<MetaVo> list = manager.getMetaAll()
@@ -36,6 +36,13 @@ public interface Event {
      */
     void changedLogEvent(String tableName, String event, List<Object> before, List<Object> after);
 
+    /**
+     * 日志事务变更事件, 同一事务内的行变更按顺序一次交付
+     *
+     * @param events 行变更
+     */
+    void changedLogEvents(List<RowChangedEvent> events);
+
     /**
      * 定时数据变更事件
      */
@@ -0,0 +1,213 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.common.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 数组行数据
+ * <p>按{@link RowSchema}下标保存字段值, 同一结果集的行共享行结构, 不再为每行创建哈希表</p>
+ * <p>实现Map接口, 插件、转换配置和日志记录仍可按字段名读写; 行结构之外的字段保存在附加字段中</p>
+ */
+public final class ArrayRow extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 3162846279431764023L;
+
+    private final RowSchema schema;
+
+    private final Object[] values;
+
+    /**
+     * 已删除的字段下标, 没有删除时为null
+     */
+    private BitSet removed;
+
+    /**
+     * 附加字段(行结构之外)
+     */
+    private Map<String, Object> extra;
+
+    public ArrayRow(RowSchema schema) {
+        this(schema, new Object[schema.size()]);
+    }
+
+    public ArrayRow(RowSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * 按下标取值
+     */
+    public Object get(int i) {
+        return values[i];
+    }
+
+    /**
+     * 按下标设值
+     */
+    public void set(int i, Object value) {
+        values[i] = value;
+        if (null != removed) {
+            removed.clear(i);
+        }
+    }
+
+    private boolean isRemoved(int i) {
+        return null != removed && removed.get(i);
+    }
+
+    private void markRemoved(int i) {
+        values[i] = null;
+        if (null == removed) {
+            removed = new BitSet(values.length);
+        }
+        removed.set(i);
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = schema.indexOf(key);
+        if (i >= 0) {
+            return get(i);
+        }
+        return null == extra ? null : extra.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int i = schema.indexOf(key);
+        if (i >= 0) {
+            return !isRemoved(i);
+        }
+        return null != extra && extra.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int i = schema.indexOf(key);
+        if (i >= 0) {
+            Object old = get(i);
+            set(i, value);
+            return old;
+        }
+        if (null == extra) {
+            extra = new LinkedHashMap<>();
+        }
+        return extra.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int i = schema.indexOf(key);
+        if (i >= 0) {
+            Object old = get(i);
+            markRemoved(i);
+            return old;
+        }
+        return null == extra ? null : extra.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        if (null == removed) {
+            removed = new BitSet(values.length);
+        }
+        removed.set(0, values.length);
+        extra = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = null == extra ? 0 : extra.size();
+                return size + values.length - (null == removed ? 0 : removed.cardinality());
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = -1;
+        private int last = -1;
+        private final Iterator<Entry<String, Object>> extraIterator = null == extra ? null : extra.entrySet().iterator();
+        private boolean inExtra;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next++;
+            while (next < values.length && isRemoved(next)) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length || (null != extraIterator && extraIterator.hasNext());
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next < values.length) {
+                final int i = next;
+                last = i;
+                inExtra = false;
+                advance();
+                return new SimpleEntry<String, Object>(schema.getName(i), values[i]) {
+                    @Override
+                    public Object setValue(Object value) {
+                        values[i] = value;
+                        return super.setValue(value);
+                    }
+                };
+            }
+            if (null == extraIterator) {
+                throw new NoSuchElementException();
+            }
+            inExtra = true;
+            return extraIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (inExtra) {
+                extraIterator.remove();
+                return;
+            }
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            markRemoved(last);
+            last = -1;
+        }
+    }
+}
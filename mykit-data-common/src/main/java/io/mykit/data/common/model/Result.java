@@ -41,6 +41,9 @@ public class Result implements Serializable {
     // 错误日志
     private StringBuffer error;
 
+    // 游标, 最后一行数据的主键值(按主键游标分页时有效)
+    private Object[] cursor;
+
     public Result() {
         init();
     }
@@ -71,4 +74,12 @@ public class Result implements Serializable {
     public StringBuffer getError() {
         return error;
     }
+
+    public Object[] getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(Object[] cursor) {
+        this.cursor = cursor;
+    }
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.common.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 行结构
+ * <p>同一结果集(或同一映射关系)的所有行共享一个行结构, 记录字段名与下标的对应关系</p>
+ * <p>字段名查找区分大小写, 找不到时忽略大小写再查找一次, 与JDBC按列名取值的行为一致</p>
+ */
+public final class RowSchema implements Serializable {
+    private static final long serialVersionUID = -2374825165489542714L;
+
+    private final String[] names;
+
+    private final Map<String, Integer> index;
+
+    private final Map<String, Integer> ignoreCaseIndex;
+
+    public RowSchema(List<String> names) {
+        // 去掉重复字段, 保留第一次出现的位置
+        Set<String> distinct = new LinkedHashSet<>(names);
+        this.names = distinct.toArray(new String[distinct.size()]);
+        this.index = new HashMap<>(this.names.length * 2);
+        this.ignoreCaseIndex = new HashMap<>(this.names.length * 2);
+        for (int i = 0; i < this.names.length; i++) {
+            index.put(this.names[i], i);
+            ignoreCaseIndex.putIfAbsent(this.names[i].toLowerCase(Locale.ENGLISH), i);
+        }
+    }
+
+    /**
+     * 获取字段下标
+     *
+     * @param name 字段名
+     * @return 不存在返回-1
+     */
+    public int indexOf(Object name) {
+        if (!(name instanceof String)) {
+            return -1;
+        }
+        Integer i = index.get(name);
+        if (null == i) {
+            i = ignoreCaseIndex.get(((String) name).toLowerCase(Locale.ENGLISH));
+        }
+        return null == i ? -1 : i;
+    }
+
+    public String getName(int i) {
+        return names[i];
+    }
+
+    public int size() {
+        return names.length;
+    }
+}
@@ -79,15 +79,68 @@ public interface Connector {
      */
     Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, int pageIndex, int pageSize);
 
+    /**
+     * 按主键游标获取数据源数据
+     * @param config   连接器配置
+     * @param command  执行命令
+     * @param args     命令参数
+     * @param cursor   上一页最后一行的主键值, 首页为null
+     * @param pageSize 页大小
+     * @return 结果集, 游标为本页最后一行的主键值
+     */
+    Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, Object[] cursor, int pageSize);
+
+    /**
+     * 按主键顺序流式获取数据源数据, 每batchSize行回调一次
+     * @param config    连接器配置
+     * @param command   执行命令
+     * @param args      命令参数
+     * @param cursor    断点行的主键值, 从头读取为null
+     * @param batchSize 每批行数
+     * @param callback  回调, 返回false时停止读取
+     * @return 读取总数
+     */
+    long streamReader(ConnectorConfig config, Map<String, String> command, List<Object> args, Object[] cursor, int batchSize, ReaderCallback callback);
+
+    /**
+     * 获取主键区间(单主键)
+     * @param config  连接器配置
+     * @param command 执行命令
+     * @return [最小值, 最大值], 没有数据返回null
+     */
+    Object[] getRange(ConnectorConfig config, Map<String, String> command);
+
+    /**
+     * 按主键区间(cursor, end]流式获取数据源数据(单主键), 每batchSize行回调一次
+     * @param config    连接器配置
+     * @param command   执行命令
+     * @param cursor    区间起始值(不包含)
+     * @param end       区间结束值(包含), 为null时读取到表尾
+     * @param batchSize 每批行数
+     * @param callback  回调, 返回false时停止读取
+     * @return 读取总数
+     */
+    long rangeReader(ConnectorConfig config, Map<String, String> command, Object cursor, Object end, int batchSize, ReaderCallback callback);
+
     /**
      * 批量写入目标源数据
      *
      * @param config  连接器配置
      * @param command 执行命令
+     * @param event   事件(INSERT/UPSERT/UPDATE/DELETE)
      * @param fields  字段信息
      * @param data    数据
      */
-    Result writer(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> data);
+    Result writer(ConnectorConfig config, Map<String, String> command, String event, List<Field> fields, List<Map<String, Object>> data);
+
+    /**
+     * 在同一个事务中按顺序批量写入目标源数据, 任一批次异常时全部回滚
+     *
+     * @param config  连接器配置
+     * @param batches 写入批次
+     * @return 每个批次的结果, 回滚时全部数据记为错误数据
+     */
+    List<Result> writer(ConnectorConfig config, List<WriterBatch> batches);
 
     /**
      * 写入目标源数据
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector;
+
+import io.mykit.data.common.model.Result;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 流式读取回调
+ */
+public interface ReaderCallback {
+
+    /**
+     * 处理一批数据
+     *
+     * @param result 本批数据, 游标为本批最后一行的主键值
+     * @return 是否继续读取，true:是; false：否
+     */
+    boolean handle(Result result);
+}
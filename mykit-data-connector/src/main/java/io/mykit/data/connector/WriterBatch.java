@@ -0,0 +1,72 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector;
+
+import io.mykit.data.connector.config.Field;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 写入批次, 同一执行命令和事件的连续数据
+ */
+public final class WriterBatch {
+
+    /**
+     * 执行命令
+     */
+    private final Map<String, String> command;
+
+    /**
+     * 事件(INSERT/UPSERT/UPDATE/DELETE)
+     */
+    private final String event;
+
+    /**
+     * 字段信息
+     */
+    private final List<Field> fields;
+
+    /**
+     * 数据
+     */
+    private final List<Map<String, Object>> data;
+
+    public WriterBatch(Map<String, String> command, String event, List<Field> fields, List<Map<String, Object>> data) {
+        this.command = command;
+        this.event = event;
+        this.fields = fields;
+        this.data = data;
+    }
+
+    public Map<String, String> getCommand() {
+        return command;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public List<Map<String, Object>> getData() {
+        return data;
+    }
+}
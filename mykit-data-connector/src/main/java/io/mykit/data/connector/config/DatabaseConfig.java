@@ -47,6 +47,26 @@ public class DatabaseConfig extends ConnectorConfig{
      */
     private String sql;
 
+    /**
+     * 连接池最大活跃连接数
+     */
+    private int maxActive = 20;
+
+    /**
+     * 连接池最大空闲连接数
+     */
+    private int maxIdle = 10;
+
+    /**
+     * 连接池最小空闲连接数
+     */
+    private int minIdle = 2;
+
+    /**
+     * 获取连接最大等待时间(毫秒)
+     */
+    private long maxWait = 60000;
+
     public String getDriverClassName() {
         return driverClassName;
     }
@@ -90,4 +110,40 @@ public class DatabaseConfig extends ConnectorConfig{
     public void setSql(String sql) {
         this.sql = sql;
     }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    public DatabaseConfig setMaxActive(int maxActive) {
+        this.maxActive = maxActive;
+        return this;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public DatabaseConfig setMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+        return this;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public DatabaseConfig setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+        return this;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public DatabaseConfig setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+        return this;
+    }
 }
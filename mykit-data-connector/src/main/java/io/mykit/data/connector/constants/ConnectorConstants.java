@@ -37,6 +37,11 @@ public class ConnectorConstants {
      */
     public static final String OPERTION_DELETE = "DELETE";
 
+    /**
+     * 插入或更新(主键存在时更新)
+     */
+    public static final String OPERTION_UPSERT = "UPSERT";
+
     /**
      * 查询
      */
@@ -47,6 +52,47 @@ public class ConnectorConstants {
      */
     public static final String OPERTION_QUERY_COUNT = "QUERY_COUNT";
 
+    /**
+     * 按主键游标查询(非首页)
+     * <p>例如：SELECT ID, NAME FROM MY_TEST WHERE (ID > ?) ORDER BY ID LIMIT ?</p>
+     */
+    public static final String OPERTION_QUERY_CURSOR = "QUERY_CURSOR";
+
+    /**
+     * 按主键游标查询(首页)
+     * <p>例如：SELECT ID, NAME FROM MY_TEST ORDER BY ID LIMIT ?</p>
+     */
+    public static final String OPERTION_QUERY_CURSOR_FIRST = "QUERY_CURSOR_FIRST";
+
+    /**
+     * 游标主键, 多个主键以逗号分隔
+     */
+    public static final String OPERTION_QUERY_CURSOR_PK = "QUERY_CURSOR_PK";
+
+    /**
+     * 按主键顺序流式查询(首次)
+     * <p>例如：SELECT ID, NAME FROM MY_TEST ORDER BY ID</p>
+     */
+    public static final String OPERTION_QUERY_STREAM = "QUERY_STREAM";
+
+    /**
+     * 按主键顺序流式查询(从断点继续)
+     * <p>例如：SELECT ID, NAME FROM MY_TEST WHERE (ID > ?) ORDER BY ID</p>
+     */
+    public static final String OPERTION_QUERY_STREAM_CURSOR = "QUERY_STREAM_CURSOR";
+
+    /**
+     * 按主键区间流式查询(单主键)
+     * <p>例如：SELECT ID, NAME FROM MY_TEST WHERE (ID > ? AND ID <= ?) ORDER BY ID</p>
+     */
+    public static final String OPERTION_QUERY_RANGE = "QUERY_RANGE";
+
+    /**
+     * 查询主键最小值和最大值(单主键)
+     * <p>例如：SELECT MIN(ID), MAX(ID) FROM MY_TEST</p>
+     */
+    public static final String OPERTION_QUERY_MIN_MAX = "QUERY_MIN_MAX";
+
     /**
      * 查询最近记录点
      * <p>例如：SELECT MAX(MY_TEST.LAST_TIME) FROM MY_TEST</p>
@@ -28,11 +28,31 @@ public class DatabaseConstants {
      */
     public static final String MYSQL_PAGE_SQL = " LIMIT ?,?";
 
+    /**
+     * Mysql游标分页语句
+     */
+    public static final String MYSQL_PAGE_CURSOR_SQL = " LIMIT ?";
+
     /**
      * Mysql驱动
      */
     public static final String MYSQL_DRIVER_CLASSNAME = "com.mysql.jdbc.Driver";
 
+    /**
+     * Mysql批量语句改写为多行语句
+     */
+    public static final String MYSQL_REWRITE_BATCHED_STATEMENTS = "rewriteBatchedStatements";
+
+    /**
+     * Mysql流式读取时放宽服务端写超时(秒), 结果集未读完时回调阻塞(如等待写入)不会被服务端断开
+     */
+    public static final String MYSQL_STREAM_SESSION_SQL = "SET SESSION net_write_timeout = 3600";
+
+    /**
+     * Mysql流式读取完成后恢复服务端写超时, 连接归还连接池后继续使用
+     */
+    public static final String MYSQL_STREAM_SESSION_RESET_SQL = "SET SESSION net_write_timeout = @@GLOBAL.net_write_timeout";
+
     //*********************************** Oracle **************************************//
     /**
      * Oracle分页语句开始
@@ -44,6 +64,16 @@ public class DatabaseConstants {
      */
     public static final String ORACLE_PAGE_SQL_END = ")A WHERE ROWNUM <= ?) WHERE RN > ?";
 
+    /**
+     * Oracle游标分页语句开始
+     */
+    public static final String ORACLE_PAGE_CURSOR_SQL_START = "SELECT * FROM (";
+
+    /**
+     * Oracle游标分页语句结束
+     */
+    public static final String ORACLE_PAGE_CURSOR_SQL_END = ") WHERE ROWNUM <= ?";
+
     /**
      * Oracle驱动
      */
@@ -15,13 +15,16 @@
  */
 package io.mykit.data.connector.database;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.mykit.data.common.model.Result;
 import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.ReaderCallback;
+import io.mykit.data.connector.WriterBatch;
 import io.mykit.data.connector.config.*;
 import io.mykit.data.connector.constants.ConnectorConstants;
 import io.mykit.data.connector.enums.ConnectorEnum;
 import io.mykit.data.connector.enums.OperationEnum;
-import io.mykit.data.connector.enums.SetterEnum;
 import io.mykit.data.connector.enums.SqlBuilderEnum;
 import io.mykit.data.connector.exception.ConnectorException;
 import io.mykit.data.connector.utils.DatabaseUtils;
@@ -30,13 +33,20 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +58,12 @@ public abstract class AbstractDatabaseConnector implements Database{
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * 参数绑定器 <执行命令, <事件, 绑定器>>, 执行命令随映射关系缓存, 映射关系回收后自动清除
+     * <p>弱引用键按引用比较, 查找时不计算执行命令的哈希值, 内容相同的执行命令也互不影响</p>
+     */
+    private static final Cache<Map<String, String>, Map<String, RowBinder>> BINDERS = Caffeine.newBuilder().weakKeys().build();
+
     protected abstract String getQueryTablesSql(DatabaseConfig config);
 
     @Override
@@ -136,6 +152,35 @@ public abstract class AbstractDatabaseConnector implements Database{
         String query = SqlBuilderEnum.QUERY.getName();
         map.put(query, buildSql(query, table, queryFilterSql));
 
+        // 存在主键时, 按主键游标分页, 避免深分页扫描已读取的数据
+        List<String> primaryKeys = getPrimaryKeys(table);
+        if (!CollectionUtils.isEmpty(primaryKeys)) {
+            String queryCursorFirst = SqlBuilderEnum.QUERY_CURSOR_FIRST.getName();
+            map.put(queryCursorFirst, buildSql(queryCursorFirst, table, queryFilterSql));
+            String queryCursor = SqlBuilderEnum.QUERY_CURSOR.getName();
+            map.put(queryCursor, buildSql(queryCursor, table, queryFilterSql));
+            String queryStream = SqlBuilderEnum.QUERY_STREAM.getName();
+            map.put(queryStream, buildSql(queryStream, table, queryFilterSql));
+            String queryStreamCursor = SqlBuilderEnum.QUERY_STREAM_CURSOR.getName();
+            map.put(queryStreamCursor, buildSql(queryStreamCursor, table, queryFilterSql));
+            map.put(ConnectorConstants.OPERTION_QUERY_CURSOR_PK, StringUtils.join(primaryKeys, ","));
+        }
+
+        // 单主键时, 支持按主键区间拆分并发读取
+        if (1 == primaryKeys.size()) {
+            String queryRange = SqlBuilderEnum.QUERY_RANGE.getName();
+            map.put(queryRange, buildSql(queryRange, table, queryFilterSql));
+
+            String quotation = buildSqlWithQuotation();
+            String pk = new StringBuilder(quotation).append(primaryKeys.get(0)).append(quotation).toString();
+            StringBuilder queryMinMax = new StringBuilder();
+            queryMinMax.append("select min(").append(pk).append("), max(").append(pk).append(") from ").append(quotation).append(table.getName()).append(quotation);
+            if (StringUtils.isNotBlank(queryFilterSql)) {
+                queryMinMax.append(queryFilterSql);
+            }
+            map.put(ConnectorConstants.OPERTION_QUERY_MIN_MAX, queryMinMax.toString());
+        }
+
         // 获取查询总数SQL
         StringBuilder queryCount = new StringBuilder();
         String quotation = buildSqlWithQuotation();
@@ -161,6 +206,12 @@ public abstract class AbstractDatabaseConnector implements Database{
 
         String delete = SqlBuilderEnum.DELETE.getName();
         map.put(delete, buildSql(delete, table, null));
+
+        // 存在主键时, 支持插入或更新
+        if (!CollectionUtils.isEmpty(getPrimaryKeys(table))) {
+            String upsert = SqlBuilderEnum.UPSERT.getName();
+            map.put(upsert, buildSql(upsert, table, null));
+        }
         return map;
     }
 
@@ -210,7 +261,7 @@ public abstract class AbstractDatabaseConnector implements Database{
 
             // 4、执行SQL
             System.out.println("querySQL1:"+querySql);
-            List<Map<String, Object>> list = jdbcTemplate.queryForList(querySql, args.toArray());
+            List<Map<String, Object>> list = jdbcTemplate.query(querySql, new ArrayRowMapper(), args.toArray());
 
             // 5、返回结果集
             return new Result(list);
@@ -224,46 +275,245 @@ public abstract class AbstractDatabaseConnector implements Database{
     }
 
     @Override
-    public Result writer(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> data) {
-        // 1、获取select SQL
-        String insertSql = command.get(SqlBuilderEnum.INSERT.getName());
-        Assert.hasText(insertSql, "插入语句不能为空.");
-        if (CollectionUtils.isEmpty(fields)) {
-            logger.error("writer fields can not be empty.");
-            throw new ConnectorException("writer fields can not be empty.");
-        }
-        if (CollectionUtils.isEmpty(data)) {
-            logger.error("writer data can not be empty.");
-            throw new ConnectorException("writer data can not be empty.");
-        }
-        final int size = data.size();
-        final int fSize = fields.size();
+    public Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, Object[] cursor, int pageSize) {
+        // 1、获取游标select SQL, 首页没有游标条件
+        String querySql = command.get(null == cursor ? SqlBuilderEnum.QUERY_CURSOR_FIRST.getName() : SqlBuilderEnum.QUERY_CURSOR.getName());
+        Assert.hasText(querySql, "游标查询语句不能为空.");
+        String[] primaryKeys = StringUtils.split(command.get(ConnectorConstants.OPERTION_QUERY_CURSOR_PK), ",");
+        Assert.notEmpty(primaryKeys, "游标主键不能为空.");
 
         DatabaseConfig cfg = (DatabaseConfig) config;
         JdbcTemplate jdbcTemplate = null;
-        Result result = new Result();
         try {
             // 2、获取连接
             jdbcTemplate = getJdbcTemplate(cfg);
 
             // 3、设置参数
-            jdbcTemplate.batchUpdate(insertSql, new BatchPreparedStatementSetter() {
-                @Override
-                public void setValues(PreparedStatement preparedStatement, int i) throws SQLException {
-                    batchRowsSetter(preparedStatement, fields, fSize, data.get(i));
-                }
+            Collections.addAll(args, getPageCursorArgs(cursor, pageSize));
+
+            // 4、执行SQL
+            List<Map<String, Object>> list = jdbcTemplate.query(querySql, new ArrayRowMapper(), args.toArray());
+
+            // 5、返回结果集, 记录最后一行的主键值作为下一页的游标
+            Result result = new Result(list);
+            if (!CollectionUtils.isEmpty(list)) {
+                result.setCursor(getCursor(primaryKeys, list.get(list.size() - 1)));
+            }
+            return result;
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
+        } finally {
+            // 释放连接
+            this.close(jdbcTemplate);
+        }
+    }
+
+    @Override
+    public long streamReader(ConnectorConfig config, Map<String, String> command, List<Object> args, Object[] cursor, int batchSize, ReaderCallback callback) {
+        // 1、获取流式select SQL, 从断点继续时带上游标条件
+        String querySql = command.get(null == cursor ? SqlBuilderEnum.QUERY_STREAM.getName() : SqlBuilderEnum.QUERY_STREAM_CURSOR.getName());
+        Assert.hasText(querySql, "流式查询语句不能为空.");
+        String[] primaryKeys = StringUtils.split(command.get(ConnectorConstants.OPERTION_QUERY_CURSOR_PK), ",");
+        Assert.notEmpty(primaryKeys, "游标主键不能为空.");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0.");
+        Assert.notNull(callback, "ReaderCallback can not be null.");
+
+        // 2、设置参数
+        if (null != cursor) {
+            Collections.addAll(args, getCursorArgs(cursor));
+        }
+
+        // 3、执行SQL
+        return stream((DatabaseConfig) config, querySql, args.toArray(), primaryKeys, batchSize, callback);
+    }
 
-                @Override
-                public int getBatchSize() {
-                    return size;
+    @Override
+    public Object[] getRange(ConnectorConfig config, Map<String, String> command) {
+        // 1、获取主键最小值和最大值SQL
+        String queryMinMaxSql = command.get(ConnectorConstants.OPERTION_QUERY_MIN_MAX);
+        Assert.hasText(queryMinMaxSql, "查询主键区间语句不能为空.");
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        JdbcTemplate jdbcTemplate = null;
+        try {
+            // 2、获取连接
+            jdbcTemplate = getJdbcTemplate(cfg);
+
+            // 3、返回结果集, 空表返回null
+            Object[] range = jdbcTemplate.queryForObject(queryMinMaxSql, (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getObject(2)});
+            return null == range || null == range[0] || null == range[1] ? null : range;
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
+        } finally {
+            // 释放连接
+            this.close(jdbcTemplate);
+        }
+    }
+
+    @Override
+    public long rangeReader(ConnectorConfig config, Map<String, String> command, Object cursor, Object end, int batchSize, ReaderCallback callback) {
+        Assert.notNull(cursor, "区间起始值不能为空.");
+        // 最后一个区间没有上限, 从起始值流式读取到表尾
+        if (null == end) {
+            return streamReader(config, command, new ArrayList<>(), new Object[]{cursor}, batchSize, callback);
+        }
+
+        // 1、获取区间select SQL
+        String querySql = command.get(SqlBuilderEnum.QUERY_RANGE.getName());
+        Assert.hasText(querySql, "区间查询语句不能为空.");
+        String[] primaryKeys = StringUtils.split(command.get(ConnectorConstants.OPERTION_QUERY_CURSOR_PK), ",");
+        Assert.notEmpty(primaryKeys, "游标主键不能为空.");
+
+        // 2、执行SQL
+        return stream((DatabaseConfig) config, querySql, new Object[]{cursor, end}, primaryKeys, batchSize, callback);
+    }
+
+    /**
+     * 流式读取, 只读、仅向前的结果集按fetchSize从服务端获取, 每满batchSize行回调一次
+     * <p>回调阻塞期间结果集保持打开, 读取前设置会话参数(如Mysql的net_write_timeout), 读取后恢复</p>
+     *
+     * @param cfg         数据库配置
+     * @param querySql    查询语句
+     * @param params      查询参数
+     * @param primaryKeys 主键
+     * @param batchSize   每批行数
+     * @param callback    回调
+     * @return 读取总数
+     */
+    private long stream(DatabaseConfig cfg, String querySql, Object[] params, String[] primaryKeys, int batchSize, ReaderCallback callback) {
+        JdbcTemplate jdbcTemplate = null;
+        try {
+            // 获取连接
+            jdbcTemplate = getJdbcTemplate(cfg);
+            final int fetchSize = getStreamFetchSize(batchSize);
+            final String sessionSql = getStreamSessionSql();
+            final String sessionResetSql = getStreamSessionResetSql();
+
+            // 执行SQL, 同一连接上设置和恢复会话参数
+            return jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+                execute(con, sessionSql);
+                PreparedStatement ps = null;
+                ResultSet rs = null;
+                try {
+                    ps = con.prepareStatement(querySql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    for (int i = 0; i < params.length; i++) {
+                        ps.setObject(i + 1, params[i]);
+                    }
+                    rs = ps.executeQuery();
+                    return stream(ps, rs, primaryKeys, batchSize, callback);
+                } finally {
+                    // 提前结束时查询已取消, 关闭结果集的异常忽略
+                    JdbcUtils.closeResultSet(rs);
+                    JdbcUtils.closeStatement(ps);
+                    try {
+                        execute(con, sessionResetSql);
+                    } catch (SQLException e) {
+                        logger.warn("恢复会话参数失败:{}", e.getMessage());
+                    }
                 }
             });
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            throw new ConnectorException(e.getMessage());
+        } finally {
+            // 释放连接
+            this.close(jdbcTemplate);
+        }
+    }
+
+    /**
+     * 按批回调, 回调返回false(任务停止或流水线关闭)时取消查询
+     * <p>Mysql流式结果集关闭时会读完剩余的行, 先取消查询, 停止时不必读完全表</p>
+     */
+    private long stream(PreparedStatement ps, ResultSet rs, String[] primaryKeys, int batchSize, ReaderCallback callback) throws SQLException {
+        ArrayRowMapper rowMapper = new ArrayRowMapper();
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        long total = 0;
+        int rowNum = 0;
+        while (rs.next()) {
+            batch.add(rowMapper.mapRow(rs, rowNum++));
+            if (batch.size() >= batchSize) {
+                total += batch.size();
+                if (!callback(callback, primaryKeys, batch)) {
+                    ps.cancel();
+                    return total;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            total += batch.size();
+            callback(callback, primaryKeys, batch);
+        }
+        return total;
+    }
+
+    /**
+     * 执行会话参数SQL, 为空时忽略
+     */
+    private void execute(Connection con, String sql) throws SQLException {
+        if (StringUtils.isBlank(sql)) {
+            return;
+        }
+        try (Statement stmt = con.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    @Override
+    public String getStreamSessionSql() {
+        return null;
+    }
+
+    @Override
+    public String getStreamSessionResetSql() {
+        return null;
+    }
+
+    @Override
+    public Object[] getCursorArgs(Object[] cursor) {
+        // (A > ?) OR (A = ? AND B > ?) OR (A = ? AND B = ? AND C > ?)
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < cursor.length; i++) {
+            for (int j = 0; j <= i; j++) {
+                args.add(cursor[j]);
+            }
+        }
+        return args.toArray();
+    }
 
+    @Override
+    public Object[] getPageCursorArgs(Object[] cursor, int pageSize) {
+        if (null == cursor) {
+            return new Object[]{pageSize};
+        }
+        // 游标条件 ... LIMIT ?
+        List<Object> args = new ArrayList<>();
+        Collections.addAll(args, getCursorArgs(cursor));
+        args.add(pageSize);
+        return args.toArray();
+    }
+
+    @Override
+    public Result writer(ConnectorConfig config, Map<String, String> command, String event, List<Field> fields, List<Map<String, Object>> data) {
+        // 1、获取执行SQL
+        final String sql = getWriterSql(command, event, fields, data);
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        JdbcTemplate jdbcTemplate = null;
+        Result result = new Result();
+        try {
+            // 2、获取连接
+            jdbcTemplate = getJdbcTemplate(cfg);
+
+            // 3、执行SQL
+            result = batchUpdate(jdbcTemplate, sql, command, event, fields, data);
         } catch (Exception e) {
             // 记录错误数据
-            result.getFailData().addAll(data);
-            result.getFail().set(size);
-            result.getError().append(e.getMessage()).append("\r\n");
+            fail(result, data, e);
             logger.error(e.getMessage());
         } finally {
             // 释放连接
@@ -272,6 +522,142 @@ public abstract class AbstractDatabaseConnector implements Database{
         return result;
     }
 
+    @Override
+    public List<Result> writer(ConnectorConfig config, List<WriterBatch> batches) {
+        if (CollectionUtils.isEmpty(batches)) {
+            logger.error("writer batches can not be empty.");
+            throw new ConnectorException("writer batches can not be empty.");
+        }
+        // 1、获取执行SQL
+        final List<String> sqls = new ArrayList<>(batches.size());
+        batches.forEach(b -> sqls.add(getWriterSql(b.getCommand(), b.getEvent(), b.getFields(), b.getData())));
+
+        DatabaseConfig cfg = (DatabaseConfig) config;
+        JdbcTemplate jdbcTemplate = null;
+        List<Result> results = new ArrayList<>(batches.size());
+        try {
+            // 2、获取连接
+            jdbcTemplate = getJdbcTemplate(cfg);
+
+            // 3、同一个事务中按顺序执行, 任一批次异常时回滚
+            final JdbcTemplate template = jdbcTemplate;
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(template.getDataSource()));
+            transaction.execute(status -> {
+                for (int i = 0; i < batches.size(); i++) {
+                    WriterBatch b = batches.get(i);
+                    results.add(batchUpdate(template, sqls.get(i), b.getCommand(), b.getEvent(), b.getFields(), b.getData()));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 已回滚, 全部记为错误数据
+            results.clear();
+            batches.forEach(b -> {
+                Result result = new Result();
+                fail(result, b.getData(), e);
+                results.add(result);
+            });
+            logger.error(e.getMessage());
+        } finally {
+            // 释放连接
+            this.close(jdbcTemplate);
+        }
+        return results;
+    }
+
+    /**
+     * 获取批量写入的执行SQL, 检查写入参数
+     */
+    private String getWriterSql(Map<String, String> command, String event, List<Field> fields, List<Map<String, Object>> data) {
+        String sql = command.get(event);
+        Assert.hasText(sql, "执行语句不能为空.");
+        if (CollectionUtils.isEmpty(fields)) {
+            logger.error("writer fields can not be empty.");
+            throw new ConnectorException("writer fields can not be empty.");
+        }
+        if (CollectionUtils.isEmpty(data)) {
+            logger.error("writer data can not be empty.");
+            throw new ConnectorException("writer data can not be empty.");
+        }
+        // 修改和删除需要主键
+        getWriterFields(event, fields);
+        return sql;
+    }
+
+    /**
+     * 批量执行, 修改和删除时影响行数为0的数据记为错误数据, 执行异常向上抛
+     *
+     * @param jdbcTemplate
+     * @param sql
+     * @param command
+     * @param event
+     * @param fields
+     * @param data
+     * @return
+     */
+    private Result batchUpdate(JdbcTemplate jdbcTemplate, String sql, Map<String, String> command, String event, List<Field> fields,
+                               List<Map<String, Object>> data) {
+        final int size = data.size();
+        Result result = new Result();
+
+        // 设置参数(按参数位置预先解析设置器)
+        final RowBinder binder = getRowBinder(command, event, fields);
+        int[] update = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement preparedStatement, int i) throws SQLException {
+                binder.bind(preparedStatement, data.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        });
+
+        // 修改和删除时, 影响行数为0的数据不存在
+        if (StringUtils.equals(ConnectorConstants.OPERTION_UPDATE, event) || StringUtils.equals(ConnectorConstants.OPERTION_DELETE, event)) {
+            for (int i = 0; i < update.length && i < size; i++) {
+                if (0 == update[i]) {
+                    result.getFailData().add(data.get(i));
+                    result.getFail().getAndIncrement();
+                }
+            }
+            if (result.getFail().get() > 0) {
+                result.getError().append(String.format("执行%s操作失败, 数据不存在", event)).append("\r\n");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取执行命令的参数绑定器, 首次使用时编译并缓存
+     * <p>写入字段变更(编辑映射关系后重新合并配置)时重新编译</p>
+     *
+     * @param command 执行命令
+     * @param event   事件
+     * @param fields  写入字段
+     * @return
+     */
+    private RowBinder getRowBinder(Map<String, String> command, String event, List<Field> fields) {
+        Map<String, RowBinder> binders = BINDERS.get(command, k -> new ConcurrentHashMap<>());
+        RowBinder binder = binders.get(event);
+        if (null == binder || !binder.isCompiled(fields)) {
+            binder = RowBinder.compile(fields, getWriterFields(event, fields));
+            binders.put(event, binder);
+        }
+        return binder;
+    }
+
+    /**
+     * 记录全部数据为错误数据
+     */
+    private void fail(Result result, List<Map<String, Object>> data, Exception e) {
+        result.getFailData().clear();
+        result.getFailData().addAll(data);
+        result.getFail().set(data.size());
+        result.getError().append(e.getMessage()).append("\r\n");
+    }
+
     @Override
     public Result writer(ConnectorConfig config, List<Field> fields, Map<String, String> command, String event, Map<String, Object> data) {
         // 1、获取 SQL
@@ -282,19 +668,7 @@ public abstract class AbstractDatabaseConnector implements Database{
             throw new ConnectorException("writer data can not be empty.");
         }
 
-        // Update / Delete
-        if (StringUtils.equals(ConnectorConstants.OPERTION_UPDATE, event)) {
-            // update attrs by id
-            List<Field> pkList = fields.stream().filter((f) -> f != null && f.isPk()).collect(Collectors.toList());
-            fields.add(pkList.get(0));
-        } else if (StringUtils.equals(ConnectorConstants.OPERTION_DELETE, event)) {
-            // delete by id
-            List<Field> pkList = fields.stream().filter(f -> f.isPk()).collect(Collectors.toList());
-            fields.clear();
-            fields.add(pkList.get(0));
-        }
-
-        int size = fields.size();
+        final RowBinder binder = getRowBinder(command, event, fields);
 
         DatabaseConfig cfg = (DatabaseConfig) config;
         JdbcTemplate jdbcTemplate = null;
@@ -303,15 +677,10 @@ public abstract class AbstractDatabaseConnector implements Database{
             // 2、获取连接
             jdbcTemplate = getJdbcTemplate(cfg);
 
-            // 3、设置参数
-            int update = jdbcTemplate.update(sql, (ps) -> {
-                Field f = null;
-                for (int i = 0; i < size; i++) {
-                    f = fields.get(i);
-                    SetterEnum.getSetter(f.getType()).set(ps, i + 1, f.getType(), data.get(f.getName()));
-                }
-            });
-            if (0 == update) {
+            // 3、设置参数(按参数位置预先解析设置器)
+            int update = jdbcTemplate.update(sql, (ps) -> binder.bind(ps, data));
+            // 插入或更新时, 数据未变化的影响行数为0
+            if (0 == update && !StringUtils.equals(ConnectorConstants.OPERTION_UPSERT, event)) {
                 throw new ConnectorException(String.format("执行%s操作失败, 数据不存在", event));
             }
         } catch (Exception e) {
@@ -531,13 +900,10 @@ public abstract class AbstractDatabaseConnector implements Database{
             throw new ConnectorException("Table column can not be empty.");
         }
         // 获取主键
-        String pk = null;
+        List<String> primaryKeys = getPrimaryKeys(table);
         // 去掉重复的查询字段
         List<String> filedNames = new ArrayList<>();
         for (Field c : column) {
-            if (c.isPk()) {
-                pk = c.getName();
-            }
             String name = c.getName();
             // 如果没有重复
             if (StringUtils.isNotBlank(name) && !filedNames.contains(name)) {
@@ -555,25 +921,73 @@ public abstract class AbstractDatabaseConnector implements Database{
         }
 
         String quotation = buildSqlWithQuotation();
-        return SqlBuilderEnum.getSqlBuilder(type).buildSql(tableName, pk, filedNames, queryFilterSQL, quotation, this);
+        return SqlBuilderEnum.getSqlBuilder(type).buildSql(tableName, primaryKeys, filedNames, queryFilterSQL, quotation, this);
+    }
+
+    /**
+     * 回调一批数据, 游标为本批最后一行的主键值
+     */
+    private boolean callback(ReaderCallback callback, String[] primaryKeys, List<Map<String, Object>> batch) {
+        Result result = new Result(batch);
+        result.setCursor(getCursor(primaryKeys, batch.get(batch.size() - 1)));
+        return callback.handle(result);
+    }
+
+    /**
+     * 获取行数据的主键值
+     */
+    private Object[] getCursor(String[] primaryKeys, Map<String, Object> row) {
+        Object[] cursor = new Object[primaryKeys.length];
+        for (int i = 0; i < primaryKeys.length; i++) {
+            cursor[i] = row.get(primaryKeys[i]);
+        }
+        return cursor;
     }
 
     /**
-     * @param ps     参数构造器
-     * @param fields 同步字段，例如[{name=ID, type=4}, {name=NAME, type=12}]
-     * @param fSize  同步字段个数
-     * @param row    同步字段对应的值，例如{ID=123, NAME=张三11}
+     * 获取主键集合, 按字段顺序
+     *
+     * @param table
+     * @return
      */
-    private void batchRowsSetter(PreparedStatement ps, List<Field> fields, int fSize, Map<String, Object> row) {
-        Field f = null;
-        int type;
-        Object val = null;
-        for (int i = 0; i < fSize; i++) {
-            // 取出字段和对应值
-            f = fields.get(i);
-            type = f.getType();
-            val = row.get(f.getName());
-            SetterEnum.getSetter(type).set(ps, i + 1, type, val);
+    private List<String> getPrimaryKeys(Table table) {
+        List<String> primaryKeys = new ArrayList<>();
+        if (null == table || CollectionUtils.isEmpty(table.getColumn())) {
+            return primaryKeys;
+        }
+        for (Field c : table.getColumn()) {
+            if (c.isPk() && StringUtils.isNotBlank(c.getName()) && !primaryKeys.contains(c.getName())) {
+                primaryKeys.add(c.getName());
+            }
         }
+        return primaryKeys;
+    }
+
+    /**
+     * 获取执行语句的参数字段
+     * <ul>
+     * <li>UPDATE: 修改字段 + 主键</li>
+     * <li>DELETE: 主键</li>
+     * <li>INSERT/UPSERT: 同步字段</li>
+     * </ul>
+     *
+     * @param event  事件
+     * @param fields 同步字段
+     * @return
+     */
+    private List<Field> getWriterFields(String event, List<Field> fields) {
+        boolean update = StringUtils.equals(ConnectorConstants.OPERTION_UPDATE, event);
+        if (!update && !StringUtils.equals(ConnectorConstants.OPERTION_DELETE, event)) {
+            return fields;
+        }
+        List<Field> pkList = fields.stream().filter(f -> null != f && f.isPk()).collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(pkList)) {
+            logger.error("Table primary key can not be empty.");
+            throw new ConnectorException("Table primary key can not be empty.");
+        }
+        // update attrs by id / delete by id
+        List<Field> params = update ? new ArrayList<>(fields) : new ArrayList<>(1);
+        params.add(pkList.get(0));
+        return params;
     }
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database;
+
+import io.mykit.data.common.model.ArrayRow;
+import io.mykit.data.common.model.RowSchema;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 将结果集映射为数组行
+ * <p>读取第一行时根据结果集元信息创建行结构, 之后每行只创建值数组, 取值方式与ColumnMapRowMapper一致</p>
+ * <p>有状态, 每次查询创建一个实例</p>
+ */
+public final class ArrayRowMapper implements RowMapper<Map<String, Object>> {
+
+    private RowSchema schema;
+
+    /**
+     * 结果集列对应的行结构下标
+     */
+    private int[] index;
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (null == schema) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> names = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                names.add(JdbcUtils.lookupColumnName(metaData, i));
+            }
+            schema = new RowSchema(names);
+            index = new int[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                index[i] = schema.indexOf(names.get(i));
+            }
+        }
+        // 重复列名与ColumnMapRowMapper一致, 保留最后一列的值
+        Object[] values = new Object[schema.size()];
+        for (int i = 0; i < index.length; i++) {
+            values[index[i]] = JdbcUtils.getResultSetValue(rs, i + 1);
+        }
+        return new ArrayRow(schema, values);
+    }
+}
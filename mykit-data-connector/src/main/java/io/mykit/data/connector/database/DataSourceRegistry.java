@@ -0,0 +1,232 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database;
+
+import io.mykit.data.connector.config.DatabaseConfig;
+import io.mykit.data.connector.constants.DatabaseConstants;
+import io.mykit.data.connector.enums.ConnectorEnum;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 连接池注册表
+ * <p>同一份连接配置(驱动/地址/帐号/密码/连接池参数)共享一个长连接池, 连接器修改或删除时回收对应的连接池</p>
+ * <p>没有连接器使用的连接池(如连接检查、编辑未保存的连接配置)在最后一个调用方归还后关闭</p>
+ */
+public final class DataSourceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRegistry.class);
+
+    /**
+     * 连接池 <配置摘要, 连接池>
+     */
+    private static final Map<String, Pool> POOL = new ConcurrentHashMap<>();
+
+    /**
+     * 连接器使用的连接池 <连接器ID, 配置摘要>
+     */
+    private static final Map<String, String> OWNER = new ConcurrentHashMap<>();
+
+    private DataSourceRegistry() {
+    }
+
+    /**
+     * 获取连接池, 不存在则创建, 使用完成后调用{@link #release(DataSource)}归还
+     *
+     * @param config 数据库配置
+     * @return 连接池
+     */
+    public static BasicDataSource getDataSource(DatabaseConfig config) {
+        Assert.notNull(config, "DatabaseConfig can not be null.");
+        Pool pool = POOL.compute(getKey(config), (k, p) -> {
+            if (null == p) {
+                p = new Pool(createDataSource(config));
+            }
+            p.users++;
+            return p;
+        });
+        return pool.dataSource;
+    }
+
+    /**
+     * 归还连接池, 没有连接器使用且没有其他调用方时关闭
+     *
+     * @param dataSource 连接池
+     */
+    public static void release(DataSource dataSource) {
+        if (null == dataSource) {
+            return;
+        }
+        for (Map.Entry<String, Pool> e : POOL.entrySet()) {
+            if (e.getValue().dataSource == dataSource) {
+                close(e.getKey(), true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 记录连接器使用的连接池, 如果连接配置已变更则回收旧连接池
+     *
+     * @param connectorId 连接器ID
+     * @param config      数据库配置
+     */
+    public static void bind(String connectorId, DatabaseConfig config) {
+        if (StringUtils.isBlank(connectorId) || null == config) {
+            return;
+        }
+        String key = getKey(config);
+        String old = OWNER.put(connectorId, key);
+        if (null != old && !StringUtils.equals(old, key)) {
+            close(old, false);
+        }
+    }
+
+    /**
+     * 回收连接器使用的连接池
+     *
+     * @param connectorId 连接器ID
+     */
+    public static void evict(String connectorId) {
+        if (StringUtils.isBlank(connectorId)) {
+            return;
+        }
+        String key = OWNER.remove(connectorId);
+        if (null != key) {
+            close(key, false);
+        }
+    }
+
+    /**
+     * 获取连接池统计信息
+     *
+     * @return [{url, 活跃连接, 空闲连接, 最大连接, 最小空闲, 最大空闲}]
+     */
+    public static List<Map<String, Object>> getStatistics() {
+        List<Map<String, Object>> list = new ArrayList<>(POOL.size());
+        POOL.forEach((k, p) -> {
+            BasicDataSource ds = p.dataSource;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("url", ds.getUrl());
+            map.put("活跃连接", ds.getNumActive());
+            map.put("空闲连接", ds.getNumIdle());
+            map.put("最大连接", ds.getMaxActive());
+            map.put("最小空闲", ds.getMinIdle());
+            map.put("最大空闲", ds.getMaxIdle());
+            list.add(map);
+        });
+        return list;
+    }
+
+    /**
+     * 如果没有连接器使用且没有调用方在使用, 关闭连接池
+     *
+     * @param key    配置摘要
+     * @param borrow 是否为调用方归还
+     */
+    private static void close(String key, boolean borrow) {
+        final BasicDataSource[] closed = new BasicDataSource[1];
+        POOL.computeIfPresent(key, (k, p) -> {
+            if (borrow) {
+                p.users--;
+            }
+            if (p.users > 0 || OWNER.containsValue(k)) {
+                return p;
+            }
+            closed[0] = p.dataSource;
+            return null;
+        });
+        BasicDataSource dataSource = closed[0];
+        if (null != dataSource) {
+            try {
+                dataSource.close();
+                logger.info("Closed dataSource:{}", dataSource.getUrl());
+            } catch (SQLException e) {
+                logger.error("Close dataSource failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static BasicDataSource createDataSource(DatabaseConfig config) {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(config.getDriverClassName());
+        dataSource.setUrl(config.getUrl());
+        dataSource.setUsername(config.getUsername());
+        dataSource.setPassword(config.getPassword());
+        // 连接池大小
+        dataSource.setMaxActive(config.getMaxActive());
+        dataSource.setMaxIdle(config.getMaxIdle());
+        dataSource.setMinIdle(config.getMinIdle());
+        dataSource.setMaxWait(config.getMaxWait());
+        // 定时回收空闲连接, 并保持最小空闲连接数
+        dataSource.setTimeBetweenEvictionRunsMillis(60000);
+        dataSource.setMinEvictableIdleTimeMillis(300000);
+        // 是否自动回收超时连接
+        dataSource.setRemoveAbandoned(true);
+        // 超时时间(以秒数为单位), 全量同步流式读取会长时间占用连接
+        dataSource.setRemoveAbandonedTimeout(3600);
+        // Mysql 批量写入时由驱动改写为多行INSERT ... VALUES (...),(...), 按max_allowed_packet拆分, 减少往返次数
+        String type = config.getConnectorType();
+        if (ConnectorEnum.MYSQL.getType().equalsIgnoreCase(type) || ConnectorEnum.DQL_MYSQL.getType().equalsIgnoreCase(type)) {
+            dataSource.addConnectionProperty(DatabaseConstants.MYSQL_REWRITE_BATCHED_STATEMENTS, "true");
+        }
+        logger.info("Created dataSource:{}", config.getUrl());
+        return dataSource;
+    }
+
+    /**
+     * 连接池及正在使用的调用方数
+     */
+    private static final class Pool {
+        private final BasicDataSource dataSource;
+        private int users;
+
+        Pool(BasicDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * 配置摘要, 连接配置或连接池参数变更后生成新的连接池
+     */
+    private static String getKey(DatabaseConfig config) {
+        String key = new StringBuilder()
+                .append(config.getDriverClassName()).append("|")
+                .append(config.getUrl()).append("|")
+                .append(config.getUsername()).append("|")
+                .append(config.getPassword()).append("|")
+                .append(config.getMaxActive()).append("|")
+                .append(config.getMaxIdle()).append("|")
+                .append(config.getMinIdle()).append("|")
+                .append(config.getMaxWait()).toString();
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -19,6 +19,8 @@ import io.mykit.data.connector.Connector;
 import io.mykit.data.connector.config.DatabaseConfig;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.List;
+
 /**
  * @author binghe
  * @version 1.0.0
@@ -46,4 +48,51 @@ public interface Database extends Connector {
      */
     Object[] getPageArgs(int pageIndex, int pageSize);
 
+    /**
+     * 获取插入或更新SQL, 参数顺序与插入语句一致
+     *
+     * @param tableName   表名
+     * @param primaryKeys 主键集合
+     * @param filedNames  字段集合
+     * @param quotation   引号
+     */
+    String getUpsertSql(String tableName, List<String> primaryKeys, List<String> filedNames, String quotation);
+
+    /**
+     * 获取游标分页SQL(只限制返回行数, 起始位置由主键条件决定)
+     */
+    String getPageCursorSql(String querySQL);
+
+    /**
+     * 获取游标条件参数
+     *
+     * @param cursor 上一行的主键值
+     */
+    Object[] getCursorArgs(Object[] cursor);
+
+    /**
+     * 获取流式读取的fetchSize
+     *
+     * @param batchSize 每批行数
+     */
+    int getStreamFetchSize(int batchSize);
+
+    /**
+     * 获取流式读取前设置会话参数的SQL, 不需要时返回null
+     */
+    String getStreamSessionSql();
+
+    /**
+     * 获取流式读取后恢复会话参数的SQL, 不需要时返回null
+     */
+    String getStreamSessionResetSql();
+
+    /**
+     * 获取游标分页参数
+     *
+     * @param cursor   上一页最后一行的主键值, 首页为null
+     * @param pageSize 页大小
+     */
+    Object[] getPageCursorArgs(Object[] cursor, int pageSize);
+
 }
@@ -0,0 +1,138 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database;
+
+import io.mykit.data.common.model.ArrayRow;
+import io.mykit.data.common.model.RowSchema;
+import io.mykit.data.connector.config.Field;
+import io.mykit.data.connector.enums.SetterEnum;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 行参数绑定器
+ * <p>写入前按参数位置预先解析每个字段的设置器, 绑定每行数据时只按下标取设置器, 不再按类型查找</p>
+ * <p>编译后可在多个写入线程间共享</p>
+ */
+public final class RowBinder {
+
+    private final String[] names;
+
+    private final int[] types;
+
+    private final Setter[] setters;
+
+    /**
+     * 编译时的写入字段
+     */
+    private final List<Field> source;
+
+    /**
+     * 数组行的行结构及参数对应的下标
+     */
+    private volatile RowIndex rowIndex;
+
+    private RowBinder(List<Field> source, List<Field> fields) {
+        this.source = source;
+        final int size = fields.size();
+        this.names = new String[size];
+        this.types = new int[size];
+        this.setters = new Setter[size];
+        Field f = null;
+        for (int i = 0; i < size; i++) {
+            f = fields.get(i);
+            names[i] = f.getName();
+            types[i] = f.getType();
+            setters[i] = SetterEnum.getSetter(f.getType());
+        }
+    }
+
+    /**
+     * 按参数顺序编译字段
+     *
+     * @param source 写入字段
+     * @param fields 按写入字段生成的参数字段
+     * @return
+     */
+    public static RowBinder compile(List<Field> source, List<Field> fields) {
+        return new RowBinder(source, fields);
+    }
+
+    /**
+     * 是否由写入字段编译, 写入字段变更(编辑映射关系)后需重新编译
+     *
+     * @param source 写入字段
+     * @return
+     */
+    public boolean isCompiled(List<Field> source) {
+        return this.source == source;
+    }
+
+    /**
+     * 绑定一行数据
+     *
+     * @param ps  参数构造器
+     * @param row 字段对应的值，例如{ID=123, NAME=张三11}
+     */
+    public void bind(PreparedStatement ps, Map<String, Object> row) {
+        final int size = setters.length;
+        if (row instanceof ArrayRow) {
+            ArrayRow r = (ArrayRow) row;
+            int[] idx = getIndex(r.getSchema());
+            for (int i = 0; i < size; i++) {
+                setters[i].set(ps, i + 1, types[i], idx[i] >= 0 ? r.get(idx[i]) : r.get(names[i]));
+            }
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            setters[i].set(ps, i + 1, types[i], row.get(names[i]));
+        }
+    }
+
+    private int[] getIndex(RowSchema rowSchema) {
+        RowIndex ri = rowIndex;
+        if (null == ri || ri.schema != rowSchema) {
+            int[] idx = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                idx[i] = rowSchema.indexOf(names[i]);
+            }
+            ri = new RowIndex(rowSchema, idx);
+            rowIndex = ri;
+        }
+        return ri.index;
+    }
+
+    public int size() {
+        return setters.length;
+    }
+
+    /**
+     * 行结构及参数对应的下标, 整体替换保证多线程可见
+     */
+    private static final class RowIndex {
+        private final RowSchema schema;
+        private final int[] index;
+
+        RowIndex(RowSchema schema, int[] index) {
+            this.schema = schema;
+            this.index = index;
+        }
+    }
+}
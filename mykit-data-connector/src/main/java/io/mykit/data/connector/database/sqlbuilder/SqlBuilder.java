@@ -28,12 +28,12 @@ public interface SqlBuilder {
     /**
      * 生成SQL
      * @param tableName 数据表
-     * @param pk 主键
+     * @param primaryKeys 主键集合
      * @param filedNames 字段集合
      * @param queryFilter 查询过滤条件
      * @param quotation 条件引用
      * @param database 数据库连接信息
      * @return 生成的SQL语句
      */
-    String buildSql(String tableName, String pk, List<String> filedNames, String queryFilter, String quotation, Database database);
+    String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database);
 }
@@ -26,7 +26,7 @@ import java.util.List;
  */
 public class SqlBuilderInsert implements SqlBuilder {
     @Override
-    public String buildSql(String tableName, String pk, List<String> filedNames, String queryFilter, String quotation, Database database) {
+    public String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database) {
         StringBuilder sql = new StringBuilder();
         StringBuilder fs = new StringBuilder();
         StringBuilder vs = new StringBuilder();
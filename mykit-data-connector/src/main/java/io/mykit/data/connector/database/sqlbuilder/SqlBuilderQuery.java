@@ -15,6 +15,7 @@
  */
 package io.mykit.data.connector.database.sqlbuilder;
 
+import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.database.Database;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -31,7 +32,7 @@ public class SqlBuilderQuery implements SqlBuilder {
     private final Logger logger = LoggerFactory.getLogger(SqlBuilderQuery.class);
 
     @Override
-    public String buildSql(String tableName, String pk, List<String> filedNames, String queryFilter, String quotation, Database database) {
+    public String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database) {
         StringBuilder sql = new StringBuilder();
         int size = filedNames.size();
         int end = size - 1;
@@ -52,6 +53,7 @@ public class SqlBuilderQuery implements SqlBuilder {
         }
         logger.debug("拼接的查询语句===>>> " + sql.toString());
         // 分页语句
+        String pk = CollectionUtils.isEmpty(primaryKeys) ? null : primaryKeys.get(0);
         String pageSql = database.getPageSql(tableName, pk, sql.toString());
         logger.debug("拼接的分页查询语句===>>> " + pageSql);
         return pageSql;
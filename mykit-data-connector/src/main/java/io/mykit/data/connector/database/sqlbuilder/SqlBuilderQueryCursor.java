@@ -0,0 +1,129 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.sqlbuilder;
+
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.database.Database;
+import io.mykit.data.connector.exception.ConnectorException;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 生成主键游标分页查询语句
+ * <p>按主键顺序读取, 下一页从上一页最后一行的主键之后开始, 避免LIMIT offset / ROWNUM扫描已读取的数据</p>
+ * <pre>
+ *     首页: SELECT "ID","NAME" FROM "USER" ORDER BY "ID" LIMIT ?
+ *     下一页: SELECT "ID","NAME" FROM "USER" WHERE ("ID" > ?) ORDER BY "ID" LIMIT ?
+ *     联合主键: WHERE ("A" > ?) OR ("A" = ? AND "B" > ?)
+ * </pre>
+ * <p>不分页时生成流式查询语句, 一次查询按主键顺序读取全部数据</p>
+ */
+public class SqlBuilderQueryCursor implements SqlBuilder {
+    private final Logger logger = LoggerFactory.getLogger(SqlBuilderQueryCursor.class);
+
+    /**
+     * 是否首页(首页没有游标条件)
+     */
+    private final boolean first;
+
+    /**
+     * 是否分页
+     */
+    private final boolean page;
+
+    public SqlBuilderQueryCursor(boolean first, boolean page) {
+        this.first = first;
+        this.page = page;
+    }
+
+    @Override
+    public String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database) {
+        if (CollectionUtils.isEmpty(primaryKeys)) {
+            logger.error("Table primary key can not be empty.");
+            throw new ConnectorException("Table primary key can not be empty.");
+        }
+        // 与查询语句保持一致, 字段不加引号
+        quotation = quotation.replace("\"", "");
+        StringBuilder sql = new StringBuilder("SELECT ");
+        int size = filedNames.size();
+        int end = size - 1;
+        for (int i = 0; i < size; i++) {
+            sql.append(quotation).append(filedNames.get(i)).append(quotation);
+            //如果不是最后一个字段
+            if (i < end) {
+                sql.append(", ");
+            }
+        }
+        sql.append(" FROM ").append(quotation).append(tableName).append(quotation);
+
+        // 查询条件 + 游标条件
+        String cursor = first ? null : getCursorCondition(primaryKeys, quotation);
+        boolean hasFilter = StringUtils.isNotBlank(queryFilter);
+        if (hasFilter && null != cursor) {
+            // WHERE (过滤条件) AND (游标条件)
+            String filter = StringUtils.substringAfter(queryFilter, "WHERE");
+            sql.append(" WHERE (").append(filter.trim()).append(") AND (").append(cursor).append(")");
+        } else if (hasFilter) {
+            sql.append(queryFilter);
+        } else if (null != cursor) {
+            sql.append(" WHERE ").append(cursor);
+        }
+
+        // 按主键排序
+        sql.append(" ORDER BY ");
+        int pkSize = primaryKeys.size();
+        for (int i = 0; i < pkSize; i++) {
+            sql.append(quotation).append(primaryKeys.get(i)).append(quotation);
+            if (i < pkSize - 1) {
+                sql.append(", ");
+            }
+        }
+        logger.debug("拼接的游标查询语句===>>> " + sql.toString());
+        if (!page) {
+            return sql.toString();
+        }
+
+        // 分页语句
+        String pageSql = database.getPageCursorSql(sql.toString());
+        logger.debug("拼接的游标分页查询语句===>>> " + pageSql);
+        return pageSql;
+    }
+
+    /**
+     * 游标条件, 参数顺序见{@link Database#getCursorArgs(Object[])}
+     * <p>("A" > ?) OR ("A" = ? AND "B" > ?) OR ("A" = ? AND "B" = ? AND "C" > ?)</p>
+     */
+    private String getCursorCondition(List<String> primaryKeys, String quotation) {
+        StringBuilder condition = new StringBuilder();
+        int size = primaryKeys.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                condition.append(" OR ");
+            }
+            condition.append("(");
+            for (int j = 0; j < i; j++) {
+                condition.append(quotation).append(primaryKeys.get(j)).append(quotation).append(" = ? AND ");
+            }
+            condition.append(quotation).append(primaryKeys.get(i)).append(quotation).append(" > ?)");
+        }
+        return condition.toString();
+    }
+}
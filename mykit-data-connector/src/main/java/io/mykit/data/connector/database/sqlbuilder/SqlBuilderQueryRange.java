@@ -0,0 +1,72 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.sqlbuilder;
+
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.database.Database;
+import io.mykit.data.connector.exception.ConnectorException;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 生成主键区间流式查询语句(单主键)
+ * <pre>
+ *     SELECT "ID","NAME" FROM "USER" WHERE ("ID" > ? AND "ID" <= ?) ORDER BY "ID"
+ * </pre>
+ */
+public class SqlBuilderQueryRange implements SqlBuilder {
+    private final Logger logger = LoggerFactory.getLogger(SqlBuilderQueryRange.class);
+
+    @Override
+    public String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database) {
+        if (CollectionUtils.isEmpty(primaryKeys) || primaryKeys.size() > 1) {
+            logger.error("Table range query only supports a single primary key.");
+            throw new ConnectorException("Table range query only supports a single primary key.");
+        }
+        // 与查询语句保持一致, 字段不加引号
+        quotation = quotation.replace("\"", "");
+        StringBuilder sql = new StringBuilder("SELECT ");
+        int size = filedNames.size();
+        int end = size - 1;
+        for (int i = 0; i < size; i++) {
+            sql.append(quotation).append(filedNames.get(i)).append(quotation);
+            //如果不是最后一个字段
+            if (i < end) {
+                sql.append(", ");
+            }
+        }
+        sql.append(" FROM ").append(quotation).append(tableName).append(quotation);
+
+        // 区间条件
+        String pk = new StringBuilder(quotation).append(primaryKeys.get(0)).append(quotation).toString();
+        String range = new StringBuilder(pk).append(" > ? AND ").append(pk).append(" <= ?").toString();
+        if (StringUtils.isNotBlank(queryFilter)) {
+            // WHERE (过滤条件) AND (区间条件)
+            String filter = StringUtils.substringAfter(queryFilter, "WHERE");
+            sql.append(" WHERE (").append(filter.trim()).append(") AND (").append(range).append(")");
+        } else {
+            sql.append(" WHERE (").append(range).append(")");
+        }
+        sql.append(" ORDER BY ").append(pk);
+        logger.debug("拼接的区间查询语句===>>> " + sql.toString());
+        return sql.toString();
+    }
+}
@@ -15,9 +15,9 @@
  */
 package io.mykit.data.connector.database.sqlbuilder;
 
+import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.database.Database;
 import io.mykit.data.connector.exception.ConnectorException;
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,11 +32,12 @@ public class SqlBuilderUpdate implements SqlBuilder{
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Override
-    public String buildSql(String tableName, String pk, List<String> filedNames, String queryFilter, String quotation, Database database) {
-        if (StringUtils.isBlank(pk)) {
+    public String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database) {
+        if (CollectionUtils.isEmpty(primaryKeys)) {
             logger.error("Table primary key can not be empty.");
             throw new ConnectorException("Table primary key can not be empty.");
         }
+        String pk = primaryKeys.get(0);
         StringBuilder sql = new StringBuilder();
         int size = filedNames.size();
         int end = size - 1;
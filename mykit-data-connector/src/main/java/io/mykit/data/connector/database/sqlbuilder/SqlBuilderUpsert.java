@@ -0,0 +1,42 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database.sqlbuilder;
+
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.database.Database;
+import io.mykit.data.connector.exception.ConnectorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 生成插入或更新sql语句, 参数顺序与插入语句一致
+ */
+public class SqlBuilderUpsert implements SqlBuilder {
+    private final Logger logger = LoggerFactory.getLogger(SqlBuilderUpsert.class);
+
+    @Override
+    public String buildSql(String tableName, List<String> primaryKeys, List<String> filedNames, String queryFilter, String quotation, Database database) {
+        if (CollectionUtils.isEmpty(primaryKeys)) {
+            logger.error("Table primary key can not be empty.");
+            throw new ConnectorException("Table primary key can not be empty.");
+        }
+        return database.getUpsertSql(tableName, primaryKeys, filedNames, quotation);
+    }
+}
@@ -70,9 +70,20 @@ public enum  FilterEnum {
      * @throws ConnectorException
      */
     public static CompareFilter getCompareFilter(String filterName) throws ConnectorException {
+        return getFilterEnum(filterName).getCompareFilter();
+    }
+
+    /**
+     * 获取运算符
+     *
+     * @param filterName
+     * @return
+     * @throws ConnectorException
+     */
+    public static FilterEnum getFilterEnum(String filterName) throws ConnectorException {
         for (FilterEnum e : FilterEnum.values()) {
             if (StringUtils.equals(filterName, e.getName())) {
-                return e.getCompareFilter();
+                return e;
             }
         }
         throw new ConnectorException(String.format("FilterEnum name \"%s\" does not exist.", filterName));
@@ -20,6 +20,8 @@ import io.mykit.data.connector.database.setter.*;
 import io.mykit.data.connector.exception.ConnectorException;
 
 import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author binghe
@@ -59,13 +61,23 @@ public enum SetterEnum {
         this.setter = setter;
     }
 
-    public static Setter getSetter(int type) throws ConnectorException {
+    /**
+     * 设置器 <列类型, 设置器>
+     */
+    private static final Map<Integer, Setter> SETTERS = new HashMap<>();
+
+    static {
         for (SetterEnum e : SetterEnum.values()) {
-            if (e.getType() == type) {
-                return e.getSetter();
-            }
+            SETTERS.put(e.getType(), e.getSetter());
         }
-        throw new ConnectorException(String.format("Setter type \"%s\" does not exist.", type));
+    }
+
+    public static Setter getSetter(int type) throws ConnectorException {
+        Setter setter = SETTERS.get(type);
+        if (null == setter) {
+            throw new ConnectorException(String.format("Setter type \"%s\" does not exist.", type));
+        }
+        return setter;
     }
 
     public int getType() {
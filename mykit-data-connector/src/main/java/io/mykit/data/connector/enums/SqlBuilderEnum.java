@@ -38,10 +38,34 @@ public enum SqlBuilderEnum {
      * 删除SQL生成器
      */
     DELETE(ConnectorConstants.OPERTION_DELETE, new SqlBuilderDelete()),
+    /**
+     * 插入或更新SQL生成器
+     */
+    UPSERT(ConnectorConstants.OPERTION_UPSERT, new SqlBuilderUpsert()),
     /**
      * 查询SQL生成器
      */
-    QUERY(ConnectorConstants.OPERTION_QUERY, new SqlBuilderQuery());
+    QUERY(ConnectorConstants.OPERTION_QUERY, new SqlBuilderQuery()),
+    /**
+     * 主键游标查询SQL生成器(首页)
+     */
+    QUERY_CURSOR_FIRST(ConnectorConstants.OPERTION_QUERY_CURSOR_FIRST, new SqlBuilderQueryCursor(true, true)),
+    /**
+     * 主键游标查询SQL生成器
+     */
+    QUERY_CURSOR(ConnectorConstants.OPERTION_QUERY_CURSOR, new SqlBuilderQueryCursor(false, true)),
+    /**
+     * 主键顺序流式查询SQL生成器
+     */
+    QUERY_STREAM(ConnectorConstants.OPERTION_QUERY_STREAM, new SqlBuilderQueryCursor(true, false)),
+    /**
+     * 主键顺序流式查询SQL生成器(从断点继续)
+     */
+    QUERY_STREAM_CURSOR(ConnectorConstants.OPERTION_QUERY_STREAM_CURSOR, new SqlBuilderQueryCursor(false, false)),
+    /**
+     * 主键区间流式查询SQL生成器
+     */
+    QUERY_RANGE(ConnectorConstants.OPERTION_QUERY_RANGE, new SqlBuilderQueryRange());
 
     // SQL构造器名称
     private String name;
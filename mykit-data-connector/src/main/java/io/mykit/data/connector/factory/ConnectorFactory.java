@@ -17,10 +17,14 @@ package io.mykit.data.connector.factory;
 
 import io.mykit.data.common.model.Result;
 import io.mykit.data.connector.Connector;
+import io.mykit.data.connector.ReaderCallback;
+import io.mykit.data.connector.WriterBatch;
 import io.mykit.data.connector.config.CommandConfig;
 import io.mykit.data.connector.config.ConnectorConfig;
+import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.config.Field;
 import io.mykit.data.connector.config.MetaInfo;
+import io.mykit.data.connector.database.DataSourceRegistry;
 import io.mykit.data.connector.enums.ConnectorEnum;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -93,9 +97,38 @@ public class ConnectorFactory {
         return result;
     }
 
-    public Result writer(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> data) {
+    public Result reader(ConnectorConfig config, Map<String, String> command, List<Object> args, Object[] cursor, int pageSize) {
         Connector connector = getConnector(config.getConnectorType());
-        Result result = connector.writer(config, command, fields, data);
+        Result result = connector.reader(config, command, args, cursor, pageSize);
+        Assert.notNull(result, "Connector reader result can not null");
+        return result;
+    }
+
+    public long streamReader(ConnectorConfig config, Map<String, String> command, List<Object> args, Object[] cursor, int batchSize, ReaderCallback callback) {
+        Connector connector = getConnector(config.getConnectorType());
+        return connector.streamReader(config, command, args, cursor, batchSize, callback);
+    }
+
+    public Object[] getRange(ConnectorConfig config, Map<String, String> command) {
+        Connector connector = getConnector(config.getConnectorType());
+        return connector.getRange(config, command);
+    }
+
+    public long rangeReader(ConnectorConfig config, Map<String, String> command, Object cursor, Object end, int batchSize, ReaderCallback callback) {
+        Connector connector = getConnector(config.getConnectorType());
+        return connector.rangeReader(config, command, cursor, end, batchSize, callback);
+    }
+
+    public Result writer(ConnectorConfig config, Map<String, String> command, String event, List<Field> fields, List<Map<String, Object>> data) {
+        Connector connector = getConnector(config.getConnectorType());
+        Result result = connector.writer(config, command, event, fields, data);
+        Assert.notNull(result, "Connector writer result can not null");
+        return result;
+    }
+
+    public List<Result> writer(ConnectorConfig config, List<WriterBatch> batches) {
+        Connector connector = getConnector(config.getConnectorType());
+        List<Result> result = connector.writer(config, batches);
         Assert.notNull(result, "Connector writer result can not null");
         return result;
     }
@@ -107,6 +140,29 @@ public class ConnectorFactory {
         return result;
     }
 
+    /**
+     * 记录连接器使用的连接池, 连接配置变更时回收旧连接池
+     */
+    public void bind(String connectorId, ConnectorConfig config) {
+        if (config instanceof DatabaseConfig) {
+            DataSourceRegistry.bind(connectorId, (DatabaseConfig) config);
+        }
+    }
+
+    /**
+     * 回收连接器使用的连接池
+     */
+    public void close(String connectorId) {
+        DataSourceRegistry.evict(connectorId);
+    }
+
+    /**
+     * 获取连接池统计信息
+     */
+    public List<Map<String, Object>> getDataSourceInfo() {
+        return DataSourceRegistry.getStatistics();
+    }
+
     /**
      * 获取连接器
      */
@@ -19,6 +19,8 @@ import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.constants.DatabaseConstants;
 import io.mykit.data.connector.database.AbstractDatabaseConnector;
 
+import java.util.List;
+
 /**
  * @author binghe
  * @version 1.0.0
@@ -41,4 +43,50 @@ public final class MysqlConnector extends AbstractDatabaseConnector {
     public Object[] getPageArgs(int pageIndex, int pageSize) {
         return new Object[]{(pageIndex - 1) * pageSize, pageSize};
     }
+
+    @Override
+    public String getUpsertSql(String tableName, List<String> primaryKeys, List<String> filedNames, String quotation) {
+        // INSERT INTO USER(ID, NAME) VALUES (?, ?) ON DUPLICATE KEY UPDATE NAME = VALUES(NAME)
+        StringBuilder fs = new StringBuilder();
+        StringBuilder vs = new StringBuilder();
+        StringBuilder us = new StringBuilder();
+        int size = filedNames.size();
+        for (int i = 0; i < size; i++) {
+            String name = new StringBuilder(quotation).append(filedNames.get(i)).append(quotation).toString();
+            fs.append(i > 0 ? ", " : "").append(name);
+            vs.append(i > 0 ? ", " : "").append("?");
+            if (!primaryKeys.contains(filedNames.get(i))) {
+                us.append(us.length() > 0 ? ", " : "").append(name).append(" = VALUES(").append(name).append(")");
+            }
+        }
+        // 只有主键字段时, 重复则不更新
+        if (us.length() == 0) {
+            String pk = new StringBuilder(quotation).append(primaryKeys.get(0)).append(quotation).toString();
+            us.append(pk).append(" = ").append(pk);
+        }
+        return new StringBuilder("INSERT INTO ").append(quotation).append(tableName).append(quotation).append("(").append(fs)
+                .append(") VALUES (").append(vs).append(") ON DUPLICATE KEY UPDATE ").append(us).toString();
+    }
+
+    @Override
+    public String getPageCursorSql(String querySQL) {
+        // Mysql 游标分页查询
+        return new StringBuilder().append(querySQL).append(DatabaseConstants.MYSQL_PAGE_CURSOR_SQL).toString();
+    }
+
+    @Override
+    public int getStreamFetchSize(int batchSize) {
+        // Mysql 逐行流式返回(需只读、仅向前的结果集)
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public String getStreamSessionSql() {
+        return DatabaseConstants.MYSQL_STREAM_SESSION_SQL;
+    }
+
+    @Override
+    public String getStreamSessionResetSql() {
+        return DatabaseConstants.MYSQL_STREAM_SESSION_RESET_SQL;
+    }
 }
@@ -19,6 +19,8 @@ import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.constants.DatabaseConstants;
 import io.mykit.data.connector.database.AbstractDatabaseConnector;
 
+import java.util.List;
+
 /**
  * @author binghe
  * @version 1.0.0
@@ -44,6 +46,48 @@ public class OracleConnector extends AbstractDatabaseConnector {
         return new Object[]{pageIndex * pageSize, (pageIndex - 1) * pageSize};
     }
 
+    @Override
+    public String getUpsertSql(String tableName, List<String> primaryKeys, List<String> filedNames, String quotation) {
+        // MERGE INTO "USER" T USING (SELECT ? "ID", ? "NAME" FROM DUAL) S ON (T."ID" = S."ID")
+        // WHEN MATCHED THEN UPDATE SET T."NAME" = S."NAME" WHEN NOT MATCHED THEN INSERT ("ID", "NAME") VALUES (S."ID", S."NAME")
+        StringBuilder ss = new StringBuilder();
+        StringBuilder on = new StringBuilder();
+        StringBuilder us = new StringBuilder();
+        StringBuilder fs = new StringBuilder();
+        StringBuilder vs = new StringBuilder();
+        int size = filedNames.size();
+        for (int i = 0; i < size; i++) {
+            String name = new StringBuilder(quotation).append(filedNames.get(i)).append(quotation).toString();
+            ss.append(i > 0 ? ", " : "").append("? ").append(name);
+            fs.append(i > 0 ? ", " : "").append(name);
+            vs.append(i > 0 ? ", " : "").append("S.").append(name);
+            if (primaryKeys.contains(filedNames.get(i))) {
+                on.append(on.length() > 0 ? " AND " : "").append("T.").append(name).append(" = S.").append(name);
+            } else {
+                us.append(us.length() > 0 ? ", " : "").append("T.").append(name).append(" = S.").append(name);
+            }
+        }
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(quotation).append(tableName).append(quotation)
+                .append(" T USING (SELECT ").append(ss).append(" FROM DUAL) S ON (").append(on).append(")");
+        // 只有主键字段时, 重复则不更新
+        if (us.length() > 0) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ").append(us);
+        }
+        return sql.append(" WHEN NOT MATCHED THEN INSERT (").append(fs).append(") VALUES (").append(vs).append(")").toString();
+    }
+
+    @Override
+    public String getPageCursorSql(String querySQL) {
+        // Oracle 游标分页查询
+        return new StringBuilder().append(DatabaseConstants.ORACLE_PAGE_CURSOR_SQL_START).append(querySQL).append(DatabaseConstants.ORACLE_PAGE_CURSOR_SQL_END).toString();
+    }
+
+    @Override
+    public int getStreamFetchSize(int batchSize) {
+        // Oracle 每次往返获取batchSize行
+        return batchSize;
+    }
+
     @Override
     protected String buildSqlWithQuotation() {
         return "\"";
@@ -21,6 +21,8 @@ import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.config.MetaInfo;
 import io.mykit.data.connector.constants.DatabaseConstants;
 import io.mykit.data.connector.database.AbstractDatabaseConnector;
+import io.mykit.data.connector.database.Database;
+import io.mykit.data.connector.enums.ConnectorEnum;
 
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,33 @@ public class DQLMysqlConnector extends AbstractDatabaseConnector {
         return new Object[]{(pageIndex - 1) * pageSize, pageSize};
     }
 
+    @Override
+    public String getUpsertSql(String tableName, List<String> primaryKeys, List<String> filedNames, String quotation) {
+        return ((Database) ConnectorEnum.MYSQL.getConnector()).getUpsertSql(tableName, primaryKeys, filedNames, quotation);
+    }
+
+    @Override
+    public String getPageCursorSql(String querySQL) {
+        // Mysql 游标分页查询
+        return querySQL + DatabaseConstants.MYSQL_PAGE_CURSOR_SQL;
+    }
+
+    @Override
+    public int getStreamFetchSize(int batchSize) {
+        // Mysql 逐行流式返回(需只读、仅向前的结果集)
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public String getStreamSessionSql() {
+        return DatabaseConstants.MYSQL_STREAM_SESSION_SQL;
+    }
+
+    @Override
+    public String getStreamSessionResetSql() {
+        return DatabaseConstants.MYSQL_STREAM_SESSION_RESET_SQL;
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         return super.getDqlTable(config);
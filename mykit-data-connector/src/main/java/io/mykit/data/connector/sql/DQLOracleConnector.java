@@ -21,6 +21,8 @@ import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.config.MetaInfo;
 import io.mykit.data.connector.constants.DatabaseConstants;
 import io.mykit.data.connector.database.AbstractDatabaseConnector;
+import io.mykit.data.connector.database.Database;
+import io.mykit.data.connector.enums.ConnectorEnum;
 
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,23 @@ public class DQLOracleConnector extends AbstractDatabaseConnector {
         return new Object[]{pageIndex * pageSize, (pageIndex - 1) * pageSize};
     }
 
+    @Override
+    public String getUpsertSql(String tableName, List<String> primaryKeys, List<String> filedNames, String quotation) {
+        return ((Database) ConnectorEnum.ORACLE.getConnector()).getUpsertSql(tableName, primaryKeys, filedNames, quotation);
+    }
+
+    @Override
+    public String getPageCursorSql(String querySQL) {
+        // Oracle 游标分页查询
+        return DatabaseConstants.ORACLE_PAGE_CURSOR_SQL_START + querySQL + DatabaseConstants.ORACLE_PAGE_CURSOR_SQL_END;
+    }
+
+    @Override
+    public int getStreamFetchSize(int batchSize) {
+        // Oracle 每次往返获取batchSize行
+        return batchSize;
+    }
+
     @Override
     public List<String> getTable(ConnectorConfig config) {
         return super.getDqlTable(config);
@@ -20,15 +20,14 @@ import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.config.Field;
 import io.mykit.data.connector.config.MetaInfo;
+import io.mykit.data.connector.database.DataSourceRegistry;
 import io.mykit.data.connector.exception.ConnectorException;
-import org.apache.commons.dbcp.BasicDataSource;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 
-import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
@@ -46,23 +45,14 @@ import java.util.Map;
 public class DatabaseUtils {
 
     public static JdbcTemplate getJdbcTemplate(DatabaseConfig config) {
-        BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setDriverClassName(config.getDriverClassName());
-        dataSource.setUrl(config.getUrl());
-        dataSource.setUsername(config.getUsername());
-        dataSource.setPassword(config.getPassword());
-        // 是否自动回收超时连接
-        dataSource.setRemoveAbandoned(true);
-        // 超时时间(以秒数为单位)
-        dataSource.setRemoveAbandonedTimeout(60);
-        return new JdbcTemplate(dataSource);
+        // 复用连接器的长连接池
+        return new JdbcTemplate(DataSourceRegistry.getDataSource(config));
     }
 
     public static void close(JdbcTemplate jdbcTemplate) throws SQLException {
+        // 连接由JdbcTemplate归还至连接池, 连接器的连接池在连接器修改或删除时回收, 其他连接池在最后一个调用方归还后关闭
         if (null != jdbcTemplate) {
-            DataSource dataSource = jdbcTemplate.getDataSource();
-            BasicDataSource ds = (BasicDataSource) dataSource;
-            ds.close();
+            DataSourceRegistry.release(jdbcTemplate.getDataSource());
         }
     }
 
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.connector.database;
+
+import io.mykit.data.connector.mysql.MysqlConnector;
+import io.mykit.data.connector.oracle.OracleConnector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 插入或更新语句测试
+ */
+public class UpsertSqlTest {
+
+    private final Database mysql = new MysqlConnector();
+
+    private final Database oracle = new OracleConnector();
+
+    @Test
+    public void testMysqlUpsert() {
+        String sql = mysql.getUpsertSql("USER", Collections.singletonList("ID"), Arrays.asList("ID", "NAME", "AGE"), "`");
+        Assert.assertEquals("INSERT INTO `USER`(`ID`, `NAME`, `AGE`) VALUES (?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE `NAME` = VALUES(`NAME`), `AGE` = VALUES(`AGE`)", sql);
+    }
+
+    @Test
+    public void testMysqlUpsertCompositeKey() {
+        String sql = mysql.getUpsertSql("USER_ROLE", Arrays.asList("USER_ID", "ROLE_ID"), Arrays.asList("USER_ID", "ROLE_ID", "NAME"), "");
+        Assert.assertEquals("INSERT INTO USER_ROLE(USER_ID, ROLE_ID, NAME) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE NAME = VALUES(NAME)", sql);
+    }
+
+    @Test
+    public void testMysqlUpsertOnlyPrimaryKey() {
+        // 只有主键字段时, 重复则不更新
+        String sql = mysql.getUpsertSql("USER", Collections.singletonList("ID"), Collections.singletonList("ID"), "`");
+        Assert.assertEquals("INSERT INTO `USER`(`ID`) VALUES (?) ON DUPLICATE KEY UPDATE `ID` = `ID`", sql);
+    }
+
+    @Test
+    public void testOracleUpsert() {
+        String sql = oracle.getUpsertSql("USER", Collections.singletonList("ID"), Arrays.asList("ID", "NAME"), "\"");
+        Assert.assertEquals("MERGE INTO \"USER\" T USING (SELECT ? \"ID\", ? \"NAME\" FROM DUAL) S ON (T.\"ID\" = S.\"ID\")"
+                + " WHEN MATCHED THEN UPDATE SET T.\"NAME\" = S.\"NAME\""
+                + " WHEN NOT MATCHED THEN INSERT (\"ID\", \"NAME\") VALUES (S.\"ID\", S.\"NAME\")", sql);
+    }
+
+    @Test
+    public void testOracleUpsertCompositeKey() {
+        String sql = oracle.getUpsertSql("USER_ROLE", Arrays.asList("USER_ID", "ROLE_ID"), Arrays.asList("USER_ID", "ROLE_ID", "NAME"), "");
+        Assert.assertEquals("MERGE INTO USER_ROLE T USING (SELECT ? USER_ID, ? ROLE_ID, ? NAME FROM DUAL) S"
+                + " ON (T.USER_ID = S.USER_ID AND T.ROLE_ID = S.ROLE_ID)"
+                + " WHEN MATCHED THEN UPDATE SET T.NAME = S.NAME"
+                + " WHEN NOT MATCHED THEN INSERT (USER_ID, ROLE_ID, NAME) VALUES (S.USER_ID, S.ROLE_ID, S.NAME)", sql);
+    }
+
+    @Test
+    public void testOracleUpsertOnlyPrimaryKey() {
+        // 只有主键字段时, 重复则不更新
+        String sql = oracle.getUpsertSql("USER", Collections.singletonList("ID"), Collections.singletonList("ID"), "\"");
+        Assert.assertEquals("MERGE INTO \"USER\" T USING (SELECT ? \"ID\" FROM DUAL) S ON (T.\"ID\" = S.\"ID\")"
+                + " WHEN NOT MATCHED THEN INSERT (\"ID\") VALUES (S.\"ID\")", sql);
+    }
+}
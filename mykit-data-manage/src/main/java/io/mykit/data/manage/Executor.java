@@ -18,6 +18,8 @@ package io.mykit.data.manage;
 import io.mykit.data.parser.enums.MetaEnum;
 import io.mykit.data.parser.model.Mapping;
 
+import java.util.Map;
+
 /**
  * @author binghe
  * @version 1.0.0
@@ -46,4 +48,12 @@ public interface Executor {
      * @param metaEnum
      */
     void changeMetaState(String metaId, MetaEnum metaEnum);
+
+    /**
+     * 获取同步任务的运行指标, 未运行或不支持时返回空
+     *
+     * @param mapping
+     * @return
+     */
+    Map<String, Object> getMetrics(Mapping mapping);
 }
@@ -15,8 +15,9 @@
  */
 package io.mykit.data.manage.config;
 
+import io.mykit.data.common.model.ArrayRow;
+import io.mykit.data.common.model.RowSchema;
 import io.mykit.data.common.utils.CollectionUtils;
-import io.mykit.data.connector.CompareFilter;
 import io.mykit.data.connector.config.Field;
 import io.mykit.data.connector.config.Filter;
 import io.mykit.data.connector.enums.FilterEnum;
@@ -25,8 +26,10 @@ import io.mykit.data.parser.model.DataEvent;
 import io.mykit.data.parser.model.FieldMapping;
 import io.mykit.data.parser.model.TableGroup;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.springframework.util.Assert;
 
+import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -38,12 +41,19 @@ import java.util.stream.Collectors;
 public class FieldPicker {
 
     private TableGroup tableGroup;
-    private List<Node> index;
-    private int indexSize;
+    /**
+     * 同步字段的行结构
+     */
+    private RowSchema schema;
+    /**
+     * 同步字段在日志行中的下标, 与行结构下标一一对应
+     */
+    private int[] index;
     private boolean filterSwitch;
-//    private List<Filter> add;
-//    private List<Filter> or;
-    private List<Filter> commonFilter;
+    /**
+     * 过滤条件, 按OR分组, 组内条件为AND
+     */
+    private Condition[][] conditions;
 
     public FieldPicker(TableGroup tableGroup) {
         this.tableGroup = tableGroup;
@@ -56,14 +66,15 @@ public class FieldPicker {
 
     public Map<String, Object> getColumns(List<Object> list) {
         if (!CollectionUtils.isEmpty(list)) {
-            Map<String, Object> data = new HashMap<>(indexSize);
-            final int size = list.size() - 1;
-            index.parallelStream().forEach(node -> {
-                if (node.i <= size) {
-                    data.put(node.name, list.get(node.i));
+            // 按下标顺序取值, 每行只创建一个值数组
+            final int size = list.size();
+            final Object[] values = new Object[index.length];
+            for (int k = 0; k < index.length; k++) {
+                if (index[k] < size) {
+                    values[k] = list.get(index[k]);
                 }
-            });
-            return data;
+            }
+            return new ArrayRow(schema, values);
         }
         return Collections.EMPTY_MAP;
     }
@@ -72,6 +83,10 @@ public class FieldPicker {
         return tableGroup;
     }
 
+    public int[] getIndex() {
+        return index;
+    }
+
     /**
      * 根据过滤条件过滤
      * @param data
@@ -83,33 +98,28 @@ public class FieldPicker {
         }
         final Map<String, Object> row = data.getData();
 
-        //存储以每个or条件分隔的过滤条件
-        Map<Integer, List<Filter>> filterMap = this.getFilterMap(commonFilter);
-        return passFilter(filterMap, row);
-    }
-
-    private boolean passFilter(Map<Integer, List<Filter>> filterMap, Map<String, Object> row) {
-        Collection<List<Filter>> values = filterMap.values();
-        for(List<Filter> filters : values) {
-            //通过
-            if(this.passFilter(filters, row)) {
+        // 任一OR分组通过即通过
+        for (Condition[] group : conditions) {
+            if (passFilter(group, row)) {
                 return true;
             }
         }
         return false;
     }
 
-    private boolean passFilter(List<Filter> filters, Map<String, Object> row) {
+    /**
+     * 组内条件全部通过(值为空的条件跳过, 至少比较一个条件)
+     */
+    private boolean passFilter(Condition[] group, Map<String, Object> row) {
         boolean pass = false;
+        final ArrayRow r = row instanceof ArrayRow && ((ArrayRow) row).getSchema() == schema ? (ArrayRow) row : null;
         Object value = null;
-        CompareFilter filter = null;
-        for (Filter f : filters) {
-            value = row.get(f.getName());
+        for (Condition c : group) {
+            value = null != r && c.index >= 0 ? r.get(c.index) : row.get(c.name);
             if (null == value) {
                 continue;
             }
-            filter = FilterEnum.getCompareFilter(f.getFilter());
-            if (!filter.compare(String.valueOf(value), f.getValue())) {
+            if (!c.test(value)) {
                 return false;
             }
             pass = true;
@@ -118,34 +128,27 @@ public class FieldPicker {
     }
 
     /**
-     * 将条件list转换为以or分隔的条件
+     * 将条件list编译为以or分隔的条件
      */
-    private Map<Integer, List<Filter>> getFilterMap(List<Filter> filterList){
-        Map<Integer, List<Filter>> filterMap = new HashMap<>();
+    private Condition[][] compile(List<Filter> filterList) {
+        Map<Integer, List<Condition>> filterMap = new LinkedHashMap<>();
         Integer index = 0;
-        for(Filter filter : filterList) {
-            if(StringUtils.equals(filter.getOperation(), OperationEnum.AND.getName())) {  //and条件
-                List<Filter> filters = filterMap.get(index);
-                if(filters == null) {
-                    filters = new ArrayList<>();
-                }
-                filters.add(filter);
-                filterMap.put(index, filters);
-            }else {   //or条件
-                List<Filter> filters = new ArrayList<>();
-                filters.add(filter);
-                index ++;
-                filterMap.put(index, filters);
+        for (Filter filter : filterList) {
+            //or条件
+            if (!StringUtils.equals(filter.getOperation(), OperationEnum.AND.getName())) {
+                index++;
             }
+            filterMap.computeIfAbsent(index, k -> new ArrayList<>()).add(new Condition(filter, schema.indexOf(filter.getName())));
+        }
+        Condition[][] groups = new Condition[filterMap.size()][];
+        int i = 0;
+        for (List<Condition> group : filterMap.values()) {
+            groups[i++] = group.toArray(new Condition[group.size()]);
         }
-        return filterMap;
+        return groups;
     }
 
     private void init(List<Filter> filter, List<Field> column, List<FieldMapping> fieldMapping) {
-        // 解析过滤条件
-        if ((filterSwitch = !CollectionUtils.isEmpty(filter))) {
-            commonFilter = filter.stream().collect(Collectors.toList());
-        }
         // column  => [1, 86, 0, 中文, 2020-05-15T12:17:22.000+0800, 备注信息]
         Assert.notEmpty(column, "读取字段不能为空.");
         Assert.notEmpty(fieldMapping, "映射关系不能为空.");
@@ -154,28 +157,115 @@ public class FieldPicker {
         Set<String> key = fieldMapping.stream().filter(m -> null != m.getSource()).map(m -> m.getSource().getName()).collect(Collectors.toSet());
 
         // 记录字段索引 [{"ID":0},{"NAME":1}]
-        index = new LinkedList<>();
+        List<String> names = new ArrayList<>();
+        List<Integer> position = new ArrayList<>();
         int size = column.size();
         String k = null;
         for (int i = 0; i < size; i++) {
             k = column.get(i).getName();
-            if (key.contains(k)) {
-                index.add(new Node(k, i));
+            if (key.contains(k) && !names.contains(k)) {
+                names.add(k);
+                position.add(i);
             }
         }
-        Assert.notEmpty(index, "同步映射关系不能为空.");
-        this.indexSize = index.size();
+        Assert.notEmpty(names, "同步映射关系不能为空.");
+        this.schema = new RowSchema(names);
+        this.index = new int[position.size()];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = position.get(i);
+        }
+
+        // 解析过滤条件
+        if ((filterSwitch = !CollectionUtils.isEmpty(filter))) {
+            conditions = compile(filter);
+        }
     }
 
-    final class Node {
-        // 属性
-        String name;
-        // 索引
-        int i;
+    /**
+     * 过滤条件, 初始化时解析运算符和过滤值
+     * <ul>
+     * <li>数值按数值比较, 时间按毫秒数比较, 不再格式化为字符串</li>
+     * <li>字符串及其他类型与原比较器一致</li>
+     * </ul>
+     */
+    static final class Condition {
+        // 字段名
+        final String name;
+        // 字段在行结构中的下标, 不存在为-1
+        final int index;
+        // 运算符
+        final FilterEnum operator;
+        // 过滤值
+        final String value;
+        // 过滤值为整数
+        final boolean integral;
+        final long longValue;
+        final double doubleValue;
+        // 过滤值为时间, 不是时间时为null
+        final Long time;
+
+        Condition(Filter filter, int index) {
+            this.name = filter.getName();
+            this.index = index;
+            this.operator = FilterEnum.getFilterEnum(filter.getFilter());
+            this.value = filter.getValue();
+            this.integral = NumberUtils.isDigits(StringUtils.removeStart(value, "-"));
+            this.longValue = NumberUtils.toLong(value);
+            this.doubleValue = NumberUtils.toDouble(value);
+            this.time = parseTime(value);
+        }
+
+        boolean test(Object v) {
+            if (v instanceof Number) {
+                return compareNumber((Number) v);
+            }
+            if (v instanceof Date && null != time) {
+                return result(Long.compare(((Date) v).getTime(), time));
+            }
+            return operator.getCompareFilter().compare(String.valueOf(v), value);
+        }
+
+        private boolean compareNumber(Number v) {
+            // 与原比较器一致, 等于/不等于在过滤值不是数值时按字符串比较
+            if ((FilterEnum.EQUAL == operator || FilterEnum.NOT_EQUAL == operator) && !NumberUtils.isNumber(value)) {
+                return operator.getCompareFilter().compare(String.valueOf(v), value);
+            }
+            boolean integer = v instanceof Integer || v instanceof Long || v instanceof Short || v instanceof Byte;
+            if (integer && (integral || !NumberUtils.isNumber(value))) {
+                return result(Long.compare(v.longValue(), longValue));
+            }
+            return result(Double.compare(v.doubleValue(), doubleValue));
+        }
+
+        private boolean result(int c) {
+            switch (operator) {
+                case EQUAL:
+                    return 0 == c;
+                case NOT_EQUAL:
+                    return 0 != c;
+                case GT:
+                    return c > 0;
+                case LT:
+                    return c < 0;
+                case GT_AND_EQUAL:
+                    return c >= 0;
+                case LT_AND_EQUAL:
+                    return c <= 0;
+                default:
+                    return false;
+            }
+        }
 
-        public Node(String name, int i) {
-            this.name = name;
-            this.i = i;
+        private static Long parseTime(String value) {
+            if (StringUtils.isBlank(value)) {
+                return null;
+            }
+            String v = value.trim();
+            try {
+                return v.length() > 10 ? Timestamp.valueOf(v).getTime() : java.sql.Date.valueOf(v).getTime();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
         }
     }
 }
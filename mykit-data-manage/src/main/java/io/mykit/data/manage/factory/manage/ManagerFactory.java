@@ -104,12 +104,16 @@ public class ManagerFactory  implements Manager, ApplicationContextAware, Applic
 
     @Override
     public String editConnector(ConfigModel model) {
-        return operationTemplate.execute(new OperationConfig(model, HandlerEnum.OPR_EDIT.getHandler()));
+        String id = operationTemplate.execute(new OperationConfig(model, HandlerEnum.OPR_EDIT.getHandler()));
+        // 连接配置变更, 回收旧连接池
+        parser.refreshConnector((Connector) model);
+        return id;
     }
 
     @Override
     public void removeConnector(String connectorId) {
         operationTemplate.remove(new OperationConfig(connectorId));
+        parser.closeConnector(connectorId);
     }
 
     @Override
@@ -217,6 +221,7 @@ public class ManagerFactory  implements Manager, ApplicationContextAware, Applic
     @Override
     public void removeMeta(String metaId) {
         operationTemplate.remove(new OperationConfig(metaId));
+        parser.closeMeta(metaId);
     }
 
     @Override
@@ -337,6 +342,11 @@ public class ManagerFactory  implements Manager, ApplicationContextAware, Applic
         }
     }
 
+    @Override
+    public Map<String, Object> getMetrics(Mapping mapping) {
+        return getPuller(mapping).getMetrics(mapping.getMetaId());
+    }
+
     @Override
     public void onApplicationEvent(ClosedEvent event) {
         // 异步监听任务关闭事件
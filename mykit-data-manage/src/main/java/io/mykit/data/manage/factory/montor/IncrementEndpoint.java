@@ -0,0 +1,44 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.manage.factory.montor;
+
+import io.mykit.data.monitor.Monitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 增量指标端点 /actuator/increment
+ * <p>运行中驱动的延迟(lag)、吞吐(eventRate/byteRate)、积压(queueSize/batchSize)、心跳和重连信息, 用于容量评估和延迟告警</p>
+ */
+@Component
+@Endpoint(id = "increment")
+public class IncrementEndpoint {
+
+    @Autowired
+    private Monitor monitor;
+
+    @ReadOperation
+    public List<Map<String, Object>> metrics() {
+        return monitor.getIncrementMetrics();
+    }
+}
@@ -15,9 +15,11 @@
  */
 package io.mykit.data.manage.factory.montor;
 
+import io.mykit.data.connector.factory.ConnectorFactory;
 import io.mykit.data.manage.Manager;
 import io.mykit.data.monitor.Monitor;
 import io.mykit.data.parser.model.Connector;
+import io.mykit.data.parser.model.Mapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +27,10 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -46,6 +51,18 @@ public class MonitorFactory implements Monitor {
     @Autowired
     private Executor taskExecutor;
 
+    @Autowired
+    private Executor writerExecutor;
+
+    @Autowired
+    private Executor rangeExecutor;
+
+    @Autowired
+    private Executor pipelineExecutor;
+
+    @Autowired
+    private ConnectorFactory connectorFactory;
+
     @Override
     @Cacheable(value = "connector", keyGenerator = "cacheKeyGenerator")
     public boolean alive(String id) {
@@ -55,9 +72,39 @@ public class MonitorFactory implements Monitor {
 
     @Override
     public Map getThreadInfo() {
+        Map map = getThreadInfo(taskExecutor);
+        map.put("写入线程池", getThreadInfo(writerExecutor));
+        map.put("分区读取线程池", getThreadInfo(rangeExecutor));
+        map.put("流水线线程池", getThreadInfo(pipelineExecutor));
+        map.put("连接池", connectorFactory.getDataSourceInfo());
+        return map;
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncrementMetrics() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        manager.getMetaAll().forEach(meta -> {
+            Mapping mapping = manager.getMapping(meta.getMappingId());
+            if (null == mapping) {
+                return;
+            }
+            Map<String, Object> metrics = manager.getMetrics(mapping);
+            if (metrics.isEmpty()) {
+                return;
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", meta.getId());
+            map.put("mappingName", mapping.getName());
+            map.putAll(metrics);
+            list.add(map);
+        });
+        return list;
+    }
+
+    private Map getThreadInfo(Executor executor) {
         Map map = new HashMap();
-        if (taskExecutor instanceof ThreadPoolTaskExecutor) {
-            ThreadPoolTaskExecutor threadTask = (ThreadPoolTaskExecutor) taskExecutor;
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            ThreadPoolTaskExecutor threadTask = (ThreadPoolTaskExecutor) executor;
             ThreadPoolExecutor threadPoolExecutor = threadTask.getThreadPoolExecutor();
 
             map.put("已提交", threadPoolExecutor.getTaskCount());
@@ -18,6 +18,8 @@ package io.mykit.data.manage.puller;
 import io.mykit.data.parser.model.Mapping;
 import org.springframework.scheduling.annotation.Async;
 
+import java.util.Map;
+
 /**
  * @author binghe
  * @version 1.0.0
@@ -29,4 +31,6 @@ public interface Puller {
     void asyncStart(Mapping mapping);
 
     void close(String metaId);
+
+    Map<String, Object> getMetrics(String metaId);
 }
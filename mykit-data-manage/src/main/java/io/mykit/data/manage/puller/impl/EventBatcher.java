@@ -0,0 +1,293 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.manage.puller.impl;
+
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.config.Field;
+import io.mykit.data.connector.constants.ConnectorConstants;
+import io.mykit.data.parser.model.DataEvent;
+import io.mykit.data.parser.model.TableGroup;
+import org.apache.commons.lang.StringUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 增量事件微批
+ * <p>按映射关系缓存连续的同类型事件(INSERT/UPDATE/DELETE), 满足以下任一条件时批量写入:</p>
+ * <ol>
+ * <li>事件类型变化(先写入已缓存的事件, 保证同一主键的变更顺序)</li>
+ * <li>缓存数达到batchNum</li>
+ * <li>批次等待时间超过batchPeriod</li>
+ * </ol>
+ * <p>开启合并后, 批次内按数据源主键合并同一行的变更, 只写入最终状态:</p>
+ * <ul>
+ * <li>INSERT + UPDATE* => INSERT</li>
+ * <li>UPDATE* => 最后一次UPDATE</li>
+ * <li>UPDATE* + DELETE => DELETE</li>
+ * <li>INSERT ... DELETE => 不写入</li>
+ * <li>其他组合(如DELETE + INSERT)先写入已缓存的事件, 再缓存新事件</li>
+ * </ul>
+ * <p>没有主键或主键未映射的表不合并</p>
+ * <p>每个映射关系单独加锁, 不同映射关系的写入互不等待; 写入成功后才移出批次, 写入异常时保留未写入的事件, 下次写入时重试</p>
+ */
+public final class EventBatcher {
+
+    /**
+     * 每批最多写入数
+     */
+    private final int batchNum;
+
+    /**
+     * 批次最长等待时间(毫秒)
+     */
+    private final long batchPeriod;
+
+    /**
+     * 是否按主键合并
+     */
+    private final boolean coalesce;
+
+    /**
+     * 批量写入
+     */
+    private final BiConsumer<TableGroup, List<DataEvent>> writer;
+
+    /**
+     * 缓存的批次 <映射关系, 批次>
+     */
+    private final Map<TableGroup, Slot> buffer = new ConcurrentHashMap<>();
+
+    /**
+     * 数据源主键 <映射关系, 主键>
+     */
+    private final Map<TableGroup, List<String>> primaryKeys = new ConcurrentHashMap<>();
+
+    public EventBatcher(int batchNum, long batchPeriod, BiConsumer<TableGroup, List<DataEvent>> writer) {
+        this(batchNum, batchPeriod, false, writer);
+    }
+
+    public EventBatcher(int batchNum, long batchPeriod, boolean coalesce, BiConsumer<TableGroup, List<DataEvent>> writer) {
+        this.batchNum = batchNum;
+        this.batchPeriod = batchPeriod;
+        this.coalesce = coalesce;
+        this.writer = writer;
+    }
+
+    /**
+     * 添加事件
+     *
+     * @param tableGroup
+     * @param data
+     */
+    public void add(TableGroup tableGroup, DataEvent data) {
+        List<String> pks = coalesce ? getPrimaryKeys(tableGroup) : Collections.emptyList();
+        Slot slot = buffer.computeIfAbsent(tableGroup, k -> new Slot());
+        synchronized (slot) {
+            Batch batch = slot.batch;
+            if (CollectionUtils.isEmpty(pks)) {
+                // 事件类型变化, 先写入已缓存的事件
+                if (null != batch && !StringUtils.equals(batch.event, data.getEvent())) {
+                    flush(tableGroup, slot);
+                    batch = null;
+                }
+                if (null == batch) {
+                    batch = new Batch(data.getEvent(), now());
+                    slot.batch = batch;
+                }
+                batch.data.add(data);
+            } else {
+                if (null == batch) {
+                    batch = new Batch(null, now());
+                    slot.batch = batch;
+                }
+                if (!merge(batch, getKey(pks, data), data)) {
+                    // 无法合并, 先写入已缓存的事件
+                    flush(tableGroup, slot);
+                    batch = new Batch(null, now());
+                    slot.batch = batch;
+                    batch.rows.put(getKey(pks, data), data);
+                }
+            }
+
+            if (batch.size() >= batchNum || isExpired(batch, now())) {
+                flush(tableGroup, slot);
+            }
+        }
+    }
+
+    /**
+     * 写入等待超时的批次
+     */
+    public void flushExpired() {
+        final long now = now();
+        buffer.forEach((k, slot) -> {
+            synchronized (slot) {
+                if (null != slot.batch && isExpired(slot.batch, now)) {
+                    flush(k, slot);
+                }
+            }
+        });
+    }
+
+    /**
+     * 写入全部批次, 正常返回时之前添加的事件已全部写入
+     */
+    public void flushAll() {
+        buffer.forEach((k, slot) -> {
+            synchronized (slot) {
+                flush(k, slot);
+            }
+        });
+    }
+
+    /**
+     * 缓存的事件数
+     */
+    public int size() {
+        int size = 0;
+        for (Slot slot : buffer.values()) {
+            synchronized (slot) {
+                size += null == slot.batch ? 0 : slot.batch.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 写入成功后再移出批次, 写入异常时保留未写入的事件并向上抛
+     */
+    private void flush(TableGroup tableGroup, Slot slot) {
+        Batch batch = slot.batch;
+        if (null == batch) {
+            return;
+        }
+        if (!batch.data.isEmpty()) {
+            writer.accept(tableGroup, batch.data);
+        }
+        if (!batch.rows.isEmpty()) {
+            // 合并后每个主键只有一条事件, 按事件类型分组写入
+            Map<String, List<DataEvent>> group = new LinkedHashMap<>();
+            batch.rows.values().forEach(e -> group.computeIfAbsent(e.getEvent(), k -> new ArrayList<>()).add(e));
+            group.forEach((event, list) -> {
+                writer.accept(tableGroup, list);
+                batch.rows.values().removeIf(e -> isEvent(e.getEvent(), event));
+            });
+        }
+        slot.batch = null;
+    }
+
+    /**
+     * 合并同一主键的事件
+     *
+     * @param batch
+     * @param key
+     * @param data
+     * @return 无法合并返回false
+     */
+    private boolean merge(Batch batch, List<Object> key, DataEvent data) {
+        DataEvent last = batch.rows.get(key);
+        if (null == last) {
+            batch.rows.put(key, data);
+            return true;
+        }
+        final String prev = last.getEvent();
+        final String event = data.getEvent();
+        if (isEvent(event, ConnectorConstants.OPERTION_UPDATE)) {
+            // INSERT + UPDATE => INSERT, UPDATE + UPDATE => UPDATE
+            if (isEvent(prev, ConnectorConstants.OPERTION_INSERT) || isEvent(prev, ConnectorConstants.OPERTION_UPDATE)) {
+                batch.rows.put(key, new DataEvent(prev, last.getBefore(), data.getAfter()));
+                return true;
+            }
+            return false;
+        }
+        if (isEvent(event, ConnectorConstants.OPERTION_DELETE)) {
+            // INSERT ... DELETE => 不写入
+            if (isEvent(prev, ConnectorConstants.OPERTION_INSERT)) {
+                batch.rows.remove(key);
+                return true;
+            }
+            // UPDATE + DELETE => DELETE
+            if (isEvent(prev, ConnectorConstants.OPERTION_UPDATE)) {
+                batch.rows.put(key, data);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEvent(String event, String expect) {
+        return StringUtils.equals(expect, event);
+    }
+
+    private List<Object> getKey(List<String> pks, DataEvent data) {
+        Map<String, Object> row = data.getData();
+        List<Object> key = new ArrayList<>(pks.size());
+        pks.forEach(pk -> key.add(null == row ? null : row.get(pk)));
+        return key;
+    }
+
+    /**
+     * 获取数据源主键, 主键未全部映射时返回空
+     */
+    private List<String> getPrimaryKeys(TableGroup tableGroup) {
+        return primaryKeys.computeIfAbsent(tableGroup, g -> {
+            List<String> pks = g.getSourceTable().getColumn().stream().filter(f -> f.isPk()).map(Field::getName).collect(Collectors.toList());
+            Set<String> source = g.getFieldMapping().stream().filter(m -> null != m.getSource()).map(m -> m.getSource().getName())
+                    .collect(Collectors.toSet());
+            return !pks.isEmpty() && source.containsAll(pks) ? pks : Collections.emptyList();
+        });
+    }
+
+    private boolean isExpired(Batch batch, long now) {
+        return now - batch.createTime >= batchPeriod;
+    }
+
+    private long now() {
+        return Instant.now().toEpochMilli();
+    }
+
+    /**
+     * 映射关系的缓存批次, 读写时锁定
+     */
+    private static final class Slot {
+        private Batch batch;
+    }
+
+    /**
+     * 同一事件类型的连续数据, 合并模式下按主键保存最终状态
+     */
+    private static final class Batch {
+        private final String event;
+        private final long createTime;
+        private final List<DataEvent> data = new ArrayList<>();
+        private final Map<List<Object>, DataEvent> rows = new LinkedHashMap<>();
+
+        Batch(String event, long createTime) {
+            this.event = event;
+            this.createTime = createTime;
+        }
+
+        int size() {
+            return data.size() + rows.size();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -85,6 +86,11 @@ public class FullPuller extends AbstractPuller implements ApplicationListener<Fu
         }
     }
 
+    @Override
+    public Map<String, Object> getMetrics(String metaId) {
+        return Collections.emptyMap();
+    }
+
     @Override
     public void onApplicationEvent(FullRefreshEvent event) {
         // 异步监听任务刷新事件
@@ -16,6 +16,7 @@
 package io.mykit.data.manage.puller.impl;
 
 import io.mykit.data.common.event.Event;
+import io.mykit.data.common.event.RowChangedEvent;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.common.utils.UUIDUtils;
 import io.mykit.data.connector.config.ConnectorConfig;
@@ -38,6 +39,7 @@ import io.mykit.data.parser.logger.LogService;
 import io.mykit.data.parser.logger.LogType;
 import io.mykit.data.parser.model.*;
 import io.mykit.data.parser.utils.PickerUtils;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -82,8 +84,15 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
 
     private String key;
 
+    private String batchKey;
+
     private Map<String, Extractor> map = new ConcurrentHashMap<>();
 
+    /**
+     * 日志模式的增量事件微批 <驱动ID, 微批>
+     */
+    private Map<String, EventBatcher> batcher = new ConcurrentHashMap<>();
+
     @Override
     public void asyncStart(Mapping mapping) {
         final String mappingId = mapping.getId();
@@ -118,14 +127,41 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
     public void close(String metaId) {
         Extractor extractor = map.get(metaId);
         if (null != extractor) {
-            extractor.clearAllListener();
+            // 先停止监听, 处理中的事件完成后再移除监听器
             extractor.close();
+            extractor.clearAllListener();
         }
         map.remove(metaId);
+        // 写入缓存的事件
+        EventBatcher eventBatcher = batcher.remove(metaId);
+        if (null != eventBatcher) {
+            try {
+                eventBatcher.flushAll();
+            } catch (Exception e) {
+                logger.error("写入缓存事件异常:{}", e.getMessage());
+            }
+        }
         publishClosedEvent(metaId);
         logger.info("关闭成功:{}", metaId);
     }
 
+    /**
+     * 增量任务的运行指标, 日志模式开启微批时附加缓存的事件数(batchSize)
+     */
+    @Override
+    public Map<String, Object> getMetrics(String metaId) {
+        Extractor extractor = map.get(metaId);
+        if (null == extractor) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>(extractor.getMetrics());
+        EventBatcher eventBatcher = batcher.get(metaId);
+        if (null != eventBatcher) {
+            metrics.put("batchSize", eventBatcher.size());
+        }
+        return metrics;
+    }
+
     @Override
     public void run() {
         // 定时同步增量信息
@@ -136,11 +172,22 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
     public void afterPropertiesSet() {
         key = UUIDUtils.getUUID();
         scheduledTaskService.start(key, "*/10 * * * * ?", this);
+        // 定时写入等待超时的增量批次
+        batchKey = UUIDUtils.getUUID();
+        scheduledTaskService.start(batchKey, "*/1 * * * * ?", () -> batcher.forEach((k, v) -> {
+            try {
+                v.flushExpired();
+            } catch (Exception e) {
+                logService.log(LogType.TableGroupLog.INCREMENT_FAILED, e.getMessage());
+                logger.error("写入增量批次异常:{}", e.getMessage());
+            }
+        }));
     }
 
     @Override
     public void destroy() {
         scheduledTaskService.stop(key);
+        scheduledTaskService.stop(batchKey);
     }
 
     private AbstractExtractor getExtractor(Mapping mapping, Connector connector, List<TableGroup> list, Meta meta)
@@ -169,8 +216,11 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             final String connectorType = connectorConfig.getConnectorType();
             AbstractExtractor extractor = listener.getExtractor(connectorType, AbstractExtractor.class);
 
-            ExtractorConfig config = new ExtractorConfig(connectorConfig, listenerConfig, meta.getMap(), new LogListener(mapping, list));
+            LogListener logListener = new LogListener(mapping, list);
+            ExtractorConfig config = new ExtractorConfig(connectorConfig, listenerConfig, meta.getMap(), logListener);
             setExtractorConfig(extractor, config);
+            // 只解析映射关系中的数据源表和同步字段
+            extractor.setTableColumns(logListener.getTableColumns());
             return extractor;
         }
         return null;
@@ -193,6 +243,11 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             // nothing to do
         }
 
+        @Override
+        public void changedLogEvents(List<RowChangedEvent> events) {
+            events.forEach(e -> changedLogEvent(e.getTableName(), e.getEvent(), e.getBefore(), e.getAfter()));
+        }
+
         @Override
         public void changedQuartzEvent(int tableGroupIndex, String event, Map<String, Object> before, Map<String, Object> after) {
             // nothing to do
@@ -204,7 +259,8 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             if (changed.compareAndSet(true, false)) {
                 Meta meta = manager.getMeta(metaId);
                 if (null != meta) {
-                    meta.setMap(map);
+                    // 保存副本, 与提取器读写的增量点分离
+                    meta.setMap(new HashMap<>(map));
                     manager.editMeta(meta);
                 }
             }
@@ -277,12 +333,16 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
      * <li>为减少开销而选择复用监听器实例, 启动时只需创建一个数据源连接器.</li>
      * <li>关系A >> B和A >> C会复用A监听的数据, A监听到增量数据，会发送给B和C.</li>
      * <li>该模式下，会监听表所有字段.</li>
+     * <li>批量数大于1时, 连续的同类型事件按映射关系缓存后批量写入.</li>
+     * <li>开启合并时, 批次内同一主键的变更合并为最终状态后写入.</li>
      * </ol>
      */
     final class LogListener extends AbstractListener {
 
         private Map<String, List<FieldPicker>> tablePicker;
 
+        private EventBatcher eventBatcher;
+
         public LogListener(Mapping mapping, List<TableGroup> list) {
             this.mapping = mapping;
             this.metaId = mapping.getMetaId();
@@ -294,6 +354,31 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
                 TableGroup group = PickerUtils.mergeTableGroupConfig(mapping, t);
                 tablePicker.get(tableName).add(new FieldPicker(group, group.getFilter(), table.getColumn(), group.getFieldMapping()));
             });
+            ListenerConfig config = mapping.getListener();
+            if (config.getBatchNum() > 1) {
+                this.eventBatcher = new EventBatcher(config.getBatchNum(), config.getBatchPeriod(), config.isCoalesce(),
+                        (group, data) -> parser.execute(mapping, group, data));
+                batcher.put(metaId, eventBatcher);
+            }
+        }
+
+        /**
+         * 数据源表同步字段的列下标 <表名, 列下标>
+         *
+         * @return
+         */
+        public Map<String, Set<Integer>> getTableColumns() {
+            Map<String, Set<Integer>> tableColumns = new HashMap<>();
+            tablePicker.forEach((tableName, pickers) -> {
+                Set<Integer> columns = new TreeSet<>();
+                pickers.forEach(picker -> {
+                    for (int i : picker.getIndex()) {
+                        columns.add(i);
+                    }
+                });
+                tableColumns.put(tableName, columns);
+            });
+            return tableColumns;
         }
 
         @Override
@@ -302,7 +387,14 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
 
             // 处理过程有异常向上抛
             List<FieldPicker> pickers = tablePicker.get(tableName);
-            if (!CollectionUtils.isEmpty(pickers)) {
+            if (!CollectionUtils.isEmpty(pickers) && null != eventBatcher) {
+                pickers.forEach(picker -> {
+                    DataEvent data = new DataEvent(event, picker.getColumns(before), picker.getColumns(after));
+                    if (picker.filter(data)) {
+                        eventBatcher.add(picker.getTableGroup(), data);
+                    }
+                });
+            } else if (!CollectionUtils.isEmpty(pickers)) {
                 pickers.parallelStream().forEach(picker -> {
                     DataEvent data = new DataEvent(event, picker.getColumns(before), picker.getColumns(after));
                     if (picker.filter(data)) {
@@ -315,5 +407,62 @@ public class IncrementPuller extends AbstractPuller implements ScheduledTaskJob,
             changed.compareAndSet(false, true);
         }
 
+        /**
+         * 按事务交付, 每个映射关系连续的同类型事件为一批, 全部批次在目标源的同一个事务中按顺序写入
+         *
+         * @param events 事务内的行变更
+         */
+        @Override
+        public void changedLogEvents(List<RowChangedEvent> events) {
+            logger.info("监听事务=> size:{}", events.size());
+
+            // 处理过程有异常向上抛
+            List<Map.Entry<TableGroup, List<DataEvent>>> transaction = new ArrayList<>();
+            // 映射关系当前的批次
+            Map<TableGroup, List<DataEvent>> group = new HashMap<>();
+            events.forEach(e -> {
+                List<FieldPicker> pickers = tablePicker.get(e.getTableName());
+                if (CollectionUtils.isEmpty(pickers)) {
+                    return;
+                }
+                pickers.forEach(picker -> {
+                    DataEvent data = new DataEvent(e.getEvent(), picker.getColumns(e.getBefore()), picker.getColumns(e.getAfter()));
+                    if (!picker.filter(data)) {
+                        return;
+                    }
+                    TableGroup tableGroup = picker.getTableGroup();
+                    List<DataEvent> list = group.get(tableGroup);
+                    // 事件类型变化, 开始新的批次
+                    if (null == list || !StringUtils.equals(list.get(0).getEvent(), data.getEvent())) {
+                        list = new ArrayList<>();
+                        group.put(tableGroup, list);
+                        transaction.add(new AbstractMap.SimpleEntry<>(tableGroup, list));
+                    }
+                    list.add(data);
+                });
+            });
+            parser.execute(mapping, transaction);
+
+            // 标记有变更记录
+            changed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void flushEvent(Map<String, String> map) {
+            if (null == eventBatcher) {
+                super.flushEvent(map);
+                return;
+            }
+            // 先记录位置, 再写入缓存的事件, 全部写入成功后才保存位置, 保存的位置不会超过已写入的事件
+            Map<String, String> snapshot = new HashMap<>(map);
+            try {
+                eventBatcher.flushAll();
+            } catch (Exception e) {
+                errorEvent(e);
+                return;
+            }
+            super.flushEvent(snapshot);
+        }
+
     }
 }
@@ -0,0 +1,254 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.manage.puller.impl;
+
+import io.mykit.data.connector.config.Field;
+import io.mykit.data.connector.config.Table;
+import io.mykit.data.connector.constants.ConnectorConstants;
+import io.mykit.data.parser.model.DataEvent;
+import io.mykit.data.parser.model.FieldMapping;
+import io.mykit.data.parser.model.TableGroup;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 增量事件微批测试
+ */
+public class EventBatcherTest {
+
+    private static final String INSERT = ConnectorConstants.OPERTION_INSERT;
+    private static final String UPDATE = ConnectorConstants.OPERTION_UPDATE;
+    private static final String DELETE = ConnectorConstants.OPERTION_DELETE;
+
+    /**
+     * 写入的批次
+     */
+    private final List<List<DataEvent>> written = new ArrayList<>();
+
+    private TableGroup tableGroup;
+
+    @Before
+    public void init() {
+        written.clear();
+        tableGroup = newTableGroup(true);
+    }
+
+    @Test
+    public void testFlushOnEventChange() {
+        EventBatcher batcher = newBatcher(10, false);
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, insert(2, "b"));
+        Assert.assertTrue(written.isEmpty());
+
+        // 事件类型变化, 先写入已缓存的事件
+        batcher.add(tableGroup, update(1, "a", "c"));
+        Assert.assertEquals(1, written.size());
+        assertEvents(written.get(0), INSERT, INSERT);
+        Assert.assertEquals(1, batcher.size());
+
+        batcher.flushAll();
+        Assert.assertEquals(2, written.size());
+        assertEvents(written.get(1), UPDATE);
+        Assert.assertEquals(0, batcher.size());
+    }
+
+    @Test
+    public void testFlushOnBatchNum() {
+        EventBatcher batcher = newBatcher(2, false);
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, insert(2, "b"));
+        batcher.add(tableGroup, insert(3, "c"));
+        Assert.assertEquals(1, written.size());
+        assertEvents(written.get(0), INSERT, INSERT);
+        Assert.assertEquals(1, batcher.size());
+    }
+
+    @Test
+    public void testCoalesceInsertUpdate() {
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, update(1, "a", "b"));
+        batcher.add(tableGroup, update(1, "b", "c"));
+        Assert.assertEquals(1, batcher.size());
+        batcher.flushAll();
+
+        // INSERT + UPDATE* => INSERT
+        Assert.assertEquals(1, written.size());
+        DataEvent e = written.get(0).get(0);
+        Assert.assertEquals(INSERT, e.getEvent());
+        Assert.assertEquals("c", e.getAfter().get("NAME"));
+    }
+
+    @Test
+    public void testCoalesceUpdate() {
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, update(1, "a", "b"));
+        batcher.add(tableGroup, update(1, "b", "c"));
+        batcher.flushAll();
+
+        // UPDATE* => 最后一次UPDATE, 保留第一次的修改前数据
+        Assert.assertEquals(1, written.size());
+        DataEvent e = written.get(0).get(0);
+        Assert.assertEquals(UPDATE, e.getEvent());
+        Assert.assertEquals("a", e.getBefore().get("NAME"));
+        Assert.assertEquals("c", e.getAfter().get("NAME"));
+    }
+
+    @Test
+    public void testCoalesceUpdateDelete() {
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, update(1, "a", "b"));
+        batcher.add(tableGroup, delete(1, "b"));
+        batcher.flushAll();
+
+        // UPDATE* + DELETE => DELETE
+        Assert.assertEquals(1, written.size());
+        assertEvents(written.get(0), DELETE);
+    }
+
+    @Test
+    public void testCoalesceInsertDelete() {
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, update(1, "a", "b"));
+        batcher.add(tableGroup, delete(1, "b"));
+        Assert.assertEquals(0, batcher.size());
+        batcher.flushAll();
+
+        // INSERT ... DELETE => 不写入
+        Assert.assertTrue(written.isEmpty());
+    }
+
+    @Test
+    public void testCoalesceDeleteInsert() {
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, delete(1, "a"));
+        batcher.add(tableGroup, insert(1, "b"));
+
+        // DELETE + INSERT 无法合并, 先写入已缓存的事件
+        Assert.assertEquals(1, written.size());
+        assertEvents(written.get(0), DELETE);
+        batcher.flushAll();
+        Assert.assertEquals(2, written.size());
+        assertEvents(written.get(1), INSERT);
+    }
+
+    @Test
+    public void testCoalesceGroupByEvent() {
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, update(2, "a", "b"));
+        batcher.add(tableGroup, insert(3, "c"));
+        batcher.flushAll();
+
+        // 合并后按事件类型分组写入
+        Assert.assertEquals(2, written.size());
+        assertEvents(written.get(0), INSERT, INSERT);
+        assertEvents(written.get(1), UPDATE);
+    }
+
+    @Test
+    public void testNotCoalesceWithoutMappedPrimaryKey() {
+        tableGroup = newTableGroup(false);
+        EventBatcher batcher = newBatcher(10, true);
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, delete(1, "a"));
+
+        // 主键未映射, 按事件类型分批
+        Assert.assertEquals(1, written.size());
+        assertEvents(written.get(0), INSERT, INSERT);
+        batcher.flushAll();
+        assertEvents(written.get(1), DELETE);
+    }
+
+    @Test
+    public void testKeepBatchOnWriteFailure() {
+        final boolean[] fail = {true};
+        EventBatcher batcher = new EventBatcher(10, 60000, false, (group, events) -> {
+            if (fail[0]) {
+                throw new IllegalStateException("write failed");
+            }
+            written.add(new ArrayList<>(events));
+        });
+        batcher.add(tableGroup, insert(1, "a"));
+        batcher.add(tableGroup, insert(2, "b"));
+        try {
+            batcher.flushAll();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(2, batcher.size());
+        }
+
+        // 写入恢复后重试
+        fail[0] = false;
+        batcher.flushAll();
+        Assert.assertEquals(1, written.size());
+        assertEvents(written.get(0), INSERT, INSERT);
+        Assert.assertEquals(0, batcher.size());
+    }
+
+    private EventBatcher newBatcher(int batchNum, boolean coalesce) {
+        return new EventBatcher(batchNum, 60000, coalesce, (group, events) -> written.add(new ArrayList<>(events)));
+    }
+
+    private void assertEvents(List<DataEvent> events, String... expect) {
+        Assert.assertEquals(expect.length, events.size());
+        for (int i = 0; i < expect.length; i++) {
+            Assert.assertEquals(expect[i], events.get(i).getEvent());
+        }
+    }
+
+    private TableGroup newTableGroup(boolean mappedPk) {
+        Field id = new Field("ID", "INT", Types.INTEGER, true);
+        Field name = new Field("NAME", "VARCHAR", Types.VARCHAR);
+        List<FieldMapping> fieldMapping = new ArrayList<>();
+        if (mappedPk) {
+            fieldMapping.add(new FieldMapping(id, id));
+        }
+        fieldMapping.add(new FieldMapping(name, name));
+        TableGroup group = new TableGroup();
+        group.setSourceTable(new Table().setName("USER").setColumn(Arrays.asList(id, name)));
+        group.setTargetTable(new Table().setName("USER").setColumn(Arrays.asList(id, name)));
+        group.setFieldMapping(fieldMapping);
+        return group;
+    }
+
+    private DataEvent insert(int id, String name) {
+        return new DataEvent(INSERT, Collections.emptyMap(), row(id, name));
+    }
+
+    private DataEvent update(int id, String before, String after) {
+        return new DataEvent(UPDATE, row(id, before), row(id, after));
+    }
+
+    private DataEvent delete(int id, String name) {
+        return new DataEvent(DELETE, row(id, name), Collections.emptyMap());
+    }
+
+    private Map<String, Object> row(int id, String name) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("ID", id);
+        row.put("NAME", name);
+        return row;
+    }
+}
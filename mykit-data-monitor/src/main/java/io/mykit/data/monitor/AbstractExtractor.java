@@ -16,12 +16,15 @@
 package io.mykit.data.monitor;
 
 import io.mykit.data.common.event.Event;
+import io.mykit.data.common.event.RowChangedEvent;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.config.ConnectorConfig;
 import io.mykit.data.monitor.config.ListenerConfig;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -33,6 +36,10 @@ public abstract class AbstractExtractor implements Extractor{
     protected ConnectorConfig connectorConfig;
     protected ListenerConfig listenerConfig;
     protected Map<String, String> map;
+    /**
+     * 监听的表和需要解析的列下标 <表名, 列下标>, 为空时监听所有表
+     */
+    protected Map<String, Set<Integer>> tableColumns;
     private List<Event> watcher;
 
     @Override
@@ -67,10 +74,18 @@ public abstract class AbstractExtractor implements Extractor{
         }
     }
 
+    @Override
+    public void changedLogEvents(List<RowChangedEvent> events) {
+        if (!CollectionUtils.isEmpty(watcher)) {
+            watcher.forEach(w -> w.changedLogEvents(events));
+        }
+    }
+
     @Override
     public void flushEvent() {
         if (!CollectionUtils.isEmpty(watcher)) {
-            watcher.forEach(w -> w.flushEvent(map));
+            final Map<String, String> checkpoint = getCheckpoint();
+            watcher.forEach(w -> w.flushEvent(checkpoint));
         }
     }
 
@@ -81,6 +96,20 @@ public abstract class AbstractExtractor implements Extractor{
         }
     }
 
+    /**
+     * 需要保存的增量点
+     *
+     * @return
+     */
+    protected Map<String, String> getCheckpoint() {
+        return map;
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        return Collections.emptyMap();
+    }
+
     public void setConnectorConfig(ConnectorConfig connectorConfig) {
         this.connectorConfig = connectorConfig;
     }
@@ -92,4 +121,8 @@ public abstract class AbstractExtractor implements Extractor{
     public void setMap(Map<String, String> map) {
         this.map = map;
     }
+
+    public void setTableColumns(Map<String, Set<Integer>> tableColumns) {
+        this.tableColumns = tableColumns;
+    }
 }
@@ -16,6 +16,7 @@
 package io.mykit.data.monitor;
 
 import io.mykit.data.common.event.Event;
+import io.mykit.data.common.event.RowChangedEvent;
 
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,11 @@ public interface Extractor {
      */
     void changedLogEvent(String tableName, String event, List<Object> before, List<Object> after);
 
+    /**
+     * 日志模式: 监听事务增量事件
+     */
+    void changedLogEvents(List<RowChangedEvent> events);
+
     /**
      * 刷新增量点事件
      */
@@ -66,4 +72,9 @@ public interface Extractor {
      * 异常事件
      */
     void errorEvent(Exception e);
+
+    /**
+     * 获取运行指标(延迟/吞吐/积压等), 不支持时返回空
+     */
+    Map<String, Object> getMetrics();
 }
@@ -15,6 +15,7 @@
  */
 package io.mykit.data.monitor;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,4 +34,9 @@ public interface Monitor {
      * 获取线程信息
      */
     Map getThreadInfo();
+
+    /**
+     * 获取运行中驱动的增量指标(延迟/吞吐/积压等)
+     */
+    List<Map<String, Object>> getIncrementMetrics();
 }
@@ -53,6 +53,36 @@ public class ListenerConfig implements Serializable {
     // 表别名
     private String tableLabel = "T1";
 
+    // 日志模式每批最多写入数, 小于等于1时逐条写入
+    private int batchNum = 200;
+
+    // 日志模式批次最长等待时间(毫秒)
+    private long batchPeriod = 1000;
+
+    // 日志模式批次内是否按主键合并同一行的变更
+    private boolean coalesce;
+
+    // 日志模式是否校验binlog事件校验和, 可信的本地链路可关闭
+    private boolean verifyChecksum = true;
+
+    // 日志模式处理事件的通道数, 同一张表的事件在同一通道内按顺序处理
+    private int laneNum = 4;
+
+    // 日志模式是否按事务交付, 同一事务内的行变更一次写入
+    private boolean transaction;
+
+    // 日志模式按事务交付时单个事务最多缓存的行数, 超过后分段写入, 不保证原子性
+    private int maxTransactionRows = 10000;
+
+    // 日志模式本地binlog回放目录, 配置后先回放目录中的binlog文件, 为空时直接连接数据库
+    private String replayPath = "";
+
+    // 日志模式本地回放的停止文件, 为空时停止位置作用于起始文件
+    private String replayStopFileName = "";
+
+    // 日志模式本地回放的停止位置, 配置停止文件或位置后回放结束不再连接数据库
+    private long replayStopPosition;
+
     public ListenerConfig() {
     }
 
@@ -123,4 +153,84 @@ public class ListenerConfig implements Serializable {
     public void setTableLabel(String tableLabel) {
         this.tableLabel = tableLabel;
     }
+
+    public int getBatchNum() {
+        return batchNum;
+    }
+
+    public void setBatchNum(int batchNum) {
+        this.batchNum = batchNum;
+    }
+
+    public long getBatchPeriod() {
+        return batchPeriod;
+    }
+
+    public void setBatchPeriod(long batchPeriod) {
+        this.batchPeriod = batchPeriod;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public boolean isVerifyChecksum() {
+        return verifyChecksum;
+    }
+
+    public void setVerifyChecksum(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    public int getLaneNum() {
+        return laneNum;
+    }
+
+    public void setLaneNum(int laneNum) {
+        this.laneNum = laneNum;
+    }
+
+    public boolean isTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(boolean transaction) {
+        this.transaction = transaction;
+    }
+
+    public int getMaxTransactionRows() {
+        return maxTransactionRows;
+    }
+
+    public void setMaxTransactionRows(int maxTransactionRows) {
+        this.maxTransactionRows = maxTransactionRows;
+    }
+
+    public String getReplayPath() {
+        return replayPath;
+    }
+
+    public void setReplayPath(String replayPath) {
+        this.replayPath = replayPath;
+    }
+
+    public String getReplayStopFileName() {
+        return replayStopFileName;
+    }
+
+    public void setReplayStopFileName(String replayStopFileName) {
+        this.replayStopFileName = replayStopFileName;
+    }
+
+    public long getReplayStopPosition() {
+        return replayStopPosition;
+    }
+
+    public void setReplayStopPosition(long replayStopPosition) {
+        this.replayStopPosition = replayStopPosition;
+    }
 }
@@ -0,0 +1,255 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.mysql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 增量事件分发
+ * <p>binlog读取线程只负责读取和解析事件, 行事件按表名分发到固定的通道, 由通道线程依次处理:</p>
+ * <ol>
+ * <li>同一张表的事件始终进入同一通道, 保证同一张表的变更顺序</li>
+ * <li>通道队列已满时阻塞读取线程, 限制缓存的事件数</li>
+ * <li>事务提交(Xid)或切换binlog时记录增量点, 所有通道都处理完该增量点之前的事件后才提交</li>
+ * <li>事件处理失败时停止所有通道, 不再提交增量点, 由调用方从最后提交的增量点重新读取</li>
+ * </ol>
+ */
+public final class EventDispatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 每个通道最多缓存的事件数
+     */
+    private static final int LANE_CAPACITY = 1024;
+
+    /**
+     * 停止时等待处理中事件的最长时间(毫秒)
+     */
+    private static final long STOP_TIMEOUT = 5000;
+
+    /**
+     * 通道队列已满时检查停止状态的间隔(毫秒)
+     */
+    private static final long OFFER_TIMEOUT = 100;
+
+    private final Lane[] lanes;
+
+    /**
+     * 处理失败, 通道已停止
+     */
+    private final Consumer<Exception> errorHandler;
+
+    /**
+     * 提交增量点
+     */
+    private final Consumer<Map<String, String>> committer;
+
+    /**
+     * 待提交的位置, 按读取顺序排列
+     */
+    private final Deque<Checkpoint> checkpoints = new ArrayDeque<>();
+
+    private volatile boolean running = true;
+
+    public EventDispatcher(int laneNum, String threadName, Consumer<Exception> errorHandler, Consumer<Map<String, String>> committer) {
+        this.errorHandler = errorHandler;
+        this.committer = committer;
+        this.lanes = new Lane[Math.max(1, laneNum)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(threadName + "-lane-" + i);
+            lanes[i].start();
+        }
+    }
+
+    /**
+     * 分发事件, 通道队列已满时等待
+     *
+     * @param tableName 表名
+     * @param task      事件处理
+     * @throws IllegalStateException 已停止或等待时被中断, 事件未分发
+     */
+    public void dispatch(String tableName, Runnable task) {
+        final Lane lane = lanes[null == tableName ? 0 : (tableName.hashCode() & Integer.MAX_VALUE) % lanes.length];
+        try {
+            while (!lane.queue.offer(task, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    throw new IllegalStateException("EventDispatcher is stopped.");
+                }
+            }
+            lane.submitted++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching event.", e);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 记录增量点, 之前分发的事件全部处理完成后提交
+     *
+     * @param snapshot 增量点
+     */
+    public void checkpoint(Map<String, String> snapshot) {
+        final long[] marks = new long[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            marks[i] = lanes[i].submitted;
+        }
+        synchronized (checkpoints) {
+            checkpoints.add(new Checkpoint(snapshot, marks));
+        }
+        commit();
+    }
+
+    /**
+     * 已分发未处理完成的事件数(含处理中)
+     *
+     * @return
+     */
+    public long getQueueSize() {
+        long size = 0;
+        for (Lane lane : lanes) {
+            size += Math.max(0, lane.submitted - lane.completed);
+        }
+        return size;
+    }
+
+    /**
+     * 停止通道, 丢弃未处理的事件, 不再提交位置, 等待处理中的事件完成
+     */
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.queue.clear();
+            // 唤醒等待中的通道
+            lane.queue.offer(() -> {
+            });
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * 停止所有通道, 只通知一次
+     */
+    private void fail(Exception e) {
+        synchronized (checkpoints) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        errorHandler.accept(e);
+    }
+
+    /**
+     * 提交所有通道都已处理完成的最新位置
+     */
+    private void commit() {
+        Checkpoint last = null;
+        synchronized (checkpoints) {
+            while (!checkpoints.isEmpty() && checkpoints.peek().isPassed()) {
+                last = checkpoints.poll();
+            }
+            if (null != last && running) {
+                committer.accept(last.snapshot);
+            }
+        }
+    }
+
+    /**
+     * 增量点及记录时各通道已分发的事件数
+     */
+    private final class Checkpoint {
+        private final Map<String, String> snapshot;
+        private final long[] marks;
+
+        Checkpoint(Map<String, String> snapshot, long[] marks) {
+            this.snapshot = snapshot;
+            this.marks = marks;
+        }
+
+        boolean isPassed() {
+            for (int i = 0; i < lanes.length; i++) {
+                if (lanes[i].completed < marks[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 通道, 单线程按分发顺序处理事件
+     */
+    private final class Lane extends Thread {
+        private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(LANE_CAPACITY);
+        // 只由读取线程修改
+        private volatile long submitted;
+        // 只由通道线程修改
+        private volatile long completed;
+
+        Lane(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Runnable task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (!running) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    // 失败的事件不计入已完成, 之后的增量点不会提交
+                    logger.error(e.getMessage(), e);
+                    fail(e);
+                    break;
+                }
+                completed++;
+                commit();
+            }
+        }
+    }
+}
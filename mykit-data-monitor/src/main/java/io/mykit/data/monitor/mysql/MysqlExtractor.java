@@ -15,26 +15,44 @@
  */
 package io.mykit.data.monitor.mysql;
 
+import io.mykit.data.common.event.RowChangedEvent;
+import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.connector.config.DatabaseConfig;
 import io.mykit.data.connector.constants.ConnectorConstants;
+import io.mykit.data.connector.utils.JDBCUtils;
 import io.mykit.data.monitor.AbstractExtractor;
 import io.mykit.data.monitor.config.Host;
 import io.mykit.data.monitor.exception.ListenerException;
 import io.mykit.data.monitor.mysql.binlog.BinlogEventListener;
 import io.mykit.data.monitor.mysql.binlog.BinlogEventV4;
+import io.mykit.data.monitor.mysql.binlog.BinlogLocalClient;
+import io.mykit.data.monitor.mysql.binlog.BinlogParser;
+import io.mykit.data.monitor.mysql.binlog.BinlogParserListener;
 import io.mykit.data.monitor.mysql.binlog.BinlogRemoteClient;
 import io.mykit.data.monitor.mysql.binlog.impl.event.*;
+import io.mykit.data.monitor.mysql.binlog.impl.filter.BinlogRowEventTableFilter;
 import io.mykit.data.monitor.mysql.common.glossary.Column;
+import io.mykit.data.monitor.mysql.common.glossary.GtidSet;
 import io.mykit.data.monitor.mysql.common.glossary.Pair;
 import io.mykit.data.monitor.mysql.common.glossary.Row;
 import io.mykit.data.monitor.mysql.common.glossary.column.StringColumn;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 
 import static java.util.regex.Pattern.compile;
@@ -50,9 +68,87 @@ public class MysqlExtractor extends AbstractExtractor {
 
     private static final String BINLOG_FILENAME = "fileName";
     private static final String BINLOG_POSITION = "position";
-    private BinlogRemoteClient client;
+    private static final String BINLOG_GTID = "gtid";
+    /**
+     * 断线重连的初始/最大等待时间(毫秒), 每次失败等待时间翻倍
+     */
+    private static final long RECONNECT_INITIAL_DELAY = 1000;
+    private static final long RECONNECT_MAX_DELAY = 60000;
+    /**
+     * 心跳周期(秒), 主库空闲时按周期发送心跳, 用于判断是否已追上主库和检测失效连接
+     */
+    private static final float HEARTBEAT_PERIOD = 10f;
+    /**
+     * 超过3个心跳周期未收到任何事件, 视为连接失效
+     */
+    private static final long HEARTBEAT_TIMEOUT = (long) (HEARTBEAT_PERIOD * 1000 * 3);
+    /**
+     * 吞吐指标的最小采样间隔(毫秒)
+     */
+    private static final long METRICS_SAMPLE_PERIOD = 1000;
+    private volatile BinlogRemoteClient client;
+    private volatile BinlogLocalClient replayClient;
+    private volatile EventDispatcher dispatcher;
+    private BinlogRowEventTableFilter filter;
     private List<Host> cluster;
-    private int master = 0;
+    private volatile int master = 0;
+    private volatile boolean closed;
+
+    /**
+     * 已读取的binlog位置, 重连和本地回放结束后从该位置继续
+     */
+    private volatile String binlogFileName;
+    private volatile long binlogPosition;
+    private volatile GtidSet gtidSet;
+
+    /**
+     * 已提交的增量点, 每次提交整体替换为不可变的Map, 保存增量点时不会读到提交了一半的位置
+     */
+    private final AtomicReference<Map<String, String>> checkpoint = new AtomicReference<>(Collections.emptyMap());
+
+    /**
+     * 重连成功次数
+     */
+    private volatile long reconnectCount;
+
+    /**
+     * 累计断线时长(毫秒)
+     */
+    private volatile long downtime;
+
+    /**
+     * 断线时间, 已连接时为0
+     */
+    private volatile long disconnectTime;
+
+    /**
+     * 已交付的行变更数
+     */
+    private final AtomicLong eventCount = new AtomicLong();
+
+    /**
+     * 已读取的binlog字节数, 只在读取线程更新
+     */
+    private volatile long byteCount;
+
+    /**
+     * 最近交付事件的延迟(毫秒): 交付完成时间 - 事件在主库的写入时间(精确到秒)
+     */
+    private volatile long lag;
+
+    /**
+     * 最近交付事件时已收到的心跳数, 之后又收到心跳且没有积压时延迟为0
+     */
+    private volatile long lagHeartbeat;
+
+    /**
+     * 吞吐采样
+     */
+    private long sampleTime;
+    private long sampleEvents;
+    private long sampleBytes;
+    private double eventRate;
+    private double byteRate;
 
     @Override
     public void start() {
@@ -61,33 +157,481 @@ public class MysqlExtractor extends AbstractExtractor {
             cluster = readNodes(config.getUrl());
             Assert.notEmpty(cluster, "Mysql连接地址有误.");
 
-            final Host host = cluster.get(master);
-            final String username = config.getUsername();
-            final String password = config.getPassword();
-            // mysql-binlog-127.0.0.1:3306-654321
-            final String threadSuffixName = new StringBuilder("mysql-binlog-")
-                    .append(host.getIp()).append(":").append(host.getPort()).append("-")
-                    .append(RandomStringUtils.randomNumeric(6))
-                    .toString();
-
-            client = new BinlogRemoteClient(host.getIp(), host.getPort(), username, password, threadSuffixName);
-            client.setBinlogFileName(map.get(BINLOG_FILENAME));
-            String pos = map.get(BINLOG_POSITION);
-            client.setBinlogPosition(StringUtils.isBlank(pos) ? 0 : Long.parseLong(pos));
-            client.setBinlogEventListener(new MysqlEventListener());
-            client.start();
+            dispatcher = newDispatcher();
+            checkpoint.set(Collections.unmodifiableMap(new HashMap<>(map)));
+            readCheckpoint();
+            // 未监听的表跳过行数据解析, 监听的表只解析同步字段
+            if (!CollectionUtils.isEmpty(tableColumns)) {
+                filter = new BinlogRowEventTableFilter(readDatabase(config.getUrl()), tableColumns);
+            }
+
+            // 配置本地binlog目录时先回放本地文件
+            if (StringUtils.isNotBlank(listenerConfig.getReplayPath())) {
+                replay(config);
+                return;
+            }
+            connectCluster(config);
         } catch (Exception e) {
             logger.error("启动失败:{}", e.getMessage());
             throw new ListenerException(e);
         }
     }
 
+    /**
+     * 行事件按表分发到通道处理, 读取线程不等待写入
+     * <p>按事务交付时事务可能跨表, 只使用一个通道保证顺序</p>
+     *
+     * @return
+     */
+    private EventDispatcher newDispatcher() {
+        int laneNum = listenerConfig.isTransaction() ? 1 : listenerConfig.getLaneNum();
+        return new EventDispatcher(laneNum, "mysql-binlog-" + RandomStringUtils.randomNumeric(6), this::recover, this::commit);
+    }
+
+    /**
+     * 从已提交的增量点读取
+     */
+    private void readCheckpoint() {
+        final Map<String, String> map = checkpoint.get();
+        binlogFileName = map.get(BINLOG_FILENAME);
+        final String pos = map.get(BINLOG_POSITION);
+        binlogPosition = StringUtils.isBlank(pos) ? 0 : Long.parseLong(pos);
+        final String gtid = map.get(BINLOG_GTID);
+        gtidSet = StringUtils.isNotBlank(gtid) ? new GtidSet(gtid) : null;
+    }
+
+    /**
+     * 事件处理失败, 分发已停止且增量点未提交
+     * <p>停止读取, 从最后提交的增量点重新读取, 未写入的事件会重新交付</p>
+     *
+     * @param e
+     */
+    private void recover(Exception e) {
+        errorEvent(e);
+        Thread t = new Thread(() -> {
+            final BinlogRemoteClient c;
+            final BinlogLocalClient r;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                c = client;
+                r = replayClient;
+                // 置空后停止的读取不会触发重连
+                client = null;
+                replayClient = null;
+            }
+            final boolean replaying = null != r && r.isRunning();
+            try {
+                if (null != r) {
+                    r.stop(0, TimeUnit.MILLISECONDS);
+                }
+                if (null != c) {
+                    c.stopQuietly();
+                }
+            } catch (Exception ex) {
+                logger.debug("关闭失败:{}", ex.getMessage());
+            }
+            dispatcher.stop();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                dispatcher = newDispatcher();
+                readCheckpoint();
+            }
+            logger.warn("事件处理失败, 从增量点重新读取, binlog:{}, position:{}", binlogFileName, binlogPosition);
+            final DatabaseConfig config = (DatabaseConfig) connectorConfig;
+            if (replaying) {
+                try {
+                    replay(config);
+                } catch (Exception ex) {
+                    logger.error("回放失败:{}", ex.getMessage());
+                    errorEvent(new ListenerException(ex));
+                }
+                return;
+            }
+            reconnect(config);
+        }, "mysql-binlog-recover-" + RandomStringUtils.randomNumeric(6));
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 连接集群节点, 有GTID或首次启动时可连接任一节点, 否则只能连接binlog文件所在的节点
+     *
+     * @param config
+     * @throws Exception
+     */
+    private void connectCluster(DatabaseConfig config) throws Exception {
+        final boolean anyNode = hasGtid() || StringUtils.isBlank(binlogFileName);
+        final int size = anyNode ? cluster.size() : 1;
+        Exception error = null;
+        for (int i = 0; i < size; i++) {
+            final int index = (master + i) % cluster.size();
+            try {
+                connect(config, cluster.get(index));
+                master = index;
+                return;
+            } catch (Exception e) {
+                error = e;
+                logger.warn("连接失败:{}:{}, {}", cluster.get(index).getIp(), cluster.get(index).getPort(), e.getMessage());
+            }
+        }
+        throw error;
+    }
+
+    /**
+     * 从增量点开始读取节点的binlog, 有GTID时按GTID定位, 断线后自动重连
+     *
+     * @param config
+     * @param host
+     * @throws Exception
+     */
+    private synchronized void connect(DatabaseConfig config, Host host) throws Exception {
+        if (closed) {
+            throw new ListenerException("已关闭");
+        }
+        // mysql-binlog-127.0.0.1:3306-654321
+        final String threadSuffixName = new StringBuilder("mysql-binlog-")
+                .append(host.getIp()).append(":").append(host.getPort()).append("-")
+                .append(RandomStringUtils.randomNumeric(6))
+                .toString();
+
+        final BinlogRemoteClient c = new BinlogRemoteClient(host.getIp(), host.getPort(), config.getUsername(), config.getPassword(), threadSuffixName);
+        c.setBinlogFileName(binlogFileName);
+        c.setBinlogPosition(binlogPosition);
+        c.setGtidSet(gtidSet);
+        c.setBinlogEventListener(new MysqlEventListener());
+        c.setVerifyChecksum(listenerConfig.isVerifyChecksum());
+        c.setHeartbeatPeriod(HEARTBEAT_PERIOD);
+        c.setFilter(filter);
+        c.setColumnFilter(filter);
+        // 非主动关闭导致的停止(如断线), 自动重连
+        c.setBinlogParserListener(new BinlogParserListener.Adapter() {
+            @Override
+            public void onStop(BinlogParser parser) {
+                if (!closed && client == c) {
+                    Thread t = new Thread(() -> reconnect(config), threadSuffixName + "-reconnect");
+                    t.setDaemon(true);
+                    t.start();
+                }
+            }
+        });
+        client = c;
+        try {
+            c.start();
+        } catch (Exception e) {
+            try {
+                c.stopQuietly();
+            } catch (Exception ex) {
+                logger.debug("关闭失败:{}", ex.getMessage());
+            }
+            throw e;
+        }
+        // 首次启动从主库当前位置开始, 记录为增量点, 失败后从该位置重新读取
+        if (StringUtils.isBlank(binlogFileName)) {
+            binlogFileName = c.getBinlogFileName();
+            binlogPosition = c.getBinlogPosition();
+            Map<String, String> snapshot = new HashMap<>();
+            snapshot.put(BINLOG_FILENAME, binlogFileName);
+            snapshot.put(BINLOG_POSITION, String.valueOf(binlogPosition));
+            commit(snapshot);
+        }
+    }
+
+    /**
+     * 回放本地binlog文件(如从主库复制的binlog或relay log), 文件映射到内存读取, 事件按相同的流程交付
+     * <ol>
+     * <li>从增量点开始, 没有增量点时从目录中最早的文件开始</li>
+     * <li>未配置停止文件/位置时, 回放结束后连接数据库, 从回放到的位置继续, 该位置必须能在主库定位(有GTID或回放的是主库binlog)</li>
+     * <li>解析失败时停在最后提交的增量点, 报告异常, 不连接数据库</li>
+     * <li>配置停止文件/位置时只回放, 可用于追赶积压和测试解析/写入吞吐</li>
+     * </ol>
+     *
+     * @param config
+     * @throws Exception
+     */
+    private void replay(DatabaseConfig config) throws Exception {
+        final String path = listenerConfig.getReplayPath();
+        if (StringUtils.isBlank(binlogFileName)) {
+            binlogFileName = readFirstBinlog(path);
+            binlogPosition = 4;
+        }
+        Assert.hasText(binlogFileName, "本地binlog目录没有binlog文件.");
+        Assert.isTrue(new File(path, binlogFileName).isFile(), String.format("本地binlog文件不存在:%s", binlogFileName));
+        final String stopFileName = listenerConfig.getReplayStopFileName();
+        final long stopPosition = listenerConfig.getReplayStopPosition();
+        final boolean stopConfigured = StringUtils.isNotBlank(stopFileName) || stopPosition > 0;
+        final String threadSuffixName = "mysql-binlog-replay-" + RandomStringUtils.randomNumeric(6);
+
+        final BinlogLocalClient c = new BinlogLocalClient();
+        c.setBinlogFilePath(path);
+        c.setBinlogFileName(binlogFileName);
+        c.setStartPosition(binlogPosition);
+        c.setStopFileName(StringUtils.isBlank(stopFileName) ? null : stopFileName);
+        c.setStopPosition(stopPosition);
+        c.setVerifyChecksum(listenerConfig.isVerifyChecksum());
+        c.setThreadSuffixName(threadSuffixName);
+        c.setBinlogEventListener(new MysqlEventListener());
+        c.setFilter(filter);
+        c.setColumnFilter(filter);
+        final long begin = now();
+        c.setBinlogParserListener(new BinlogParserListener.Adapter() {
+            // 只在回放线程读写
+            private Exception failure;
+
+            @Override
+            public void onException(BinlogParser parser, Exception exception) {
+                failure = exception;
+            }
+
+            @Override
+            public void onStop(BinlogParser parser) {
+                logger.info("回放结束:{}, binlog:{}, position:{}, 读取{}字节, 耗时{}ms", path, binlogFileName, binlogPosition, byteCount, now() - begin);
+                if (closed || replayClient != c) {
+                    return;
+                }
+                if (null != failure) {
+                    logger.error("回放失败:{}, binlog:{}, position:{}, {}", path, binlogFileName, binlogPosition, failure.getMessage());
+                    errorEvent(new ListenerException(String.format("回放失败:%s, binlog:%s, position:%s, %s", path, binlogFileName,
+                            binlogPosition, failure.getMessage()), failure));
+                    return;
+                }
+                if (stopConfigured) {
+                    return;
+                }
+                Thread t = new Thread(() -> handover(config), threadSuffixName + "-connect");
+                t.setDaemon(true);
+                t.start();
+            }
+        });
+        replayClient = c;
+        logger.info("开始回放:{}, binlog:{}, position:{}", path, binlogFileName, binlogPosition);
+        c.start();
+    }
+
+    /**
+     * 回放结束后连接数据库, 从回放到的位置继续
+     * <p>没有GTID时按文件和位置定位, 回放的文件必须是主库的binlog, relay log等文件的名称和位置在主库上不存在</p>
+     *
+     * @param config
+     */
+    private void handover(DatabaseConfig config) {
+        long delay = RECONNECT_INITIAL_DELAY;
+        while (!closed && !hasGtid()) {
+            try {
+                if (!isMasterBinlog(config)) {
+                    errorEvent(new ListenerException(String.format("回放结束, 主库没有binlog:%s且没有GTID, 无法从回放位置连接数据库, 请回放主库的binlog或开启GTID",
+                            binlogFileName)));
+                    return;
+                }
+                break;
+            } catch (Exception e) {
+                logger.warn("查询主库binlog失败, {}ms后重试, {}", delay, e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = Math.min(delay << 1, RECONNECT_MAX_DELAY);
+        }
+        if (closed) {
+            return;
+        }
+        try {
+            connectCluster(config);
+        } catch (Exception e) {
+            reconnect(config);
+        }
+    }
+
+    /**
+     * 主库是否有增量点的binlog文件
+     *
+     * @param config
+     * @return
+     * @throws Exception 连接或查询失败
+     */
+    private boolean isMasterBinlog(DatabaseConfig config) throws Exception {
+        Connection connection = null;
+        try {
+            connection = JDBCUtils.getConnection(config.getDriverClassName(), config.getUrl(), config.getUsername(), config.getPassword());
+            try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery("SHOW BINARY LOGS")) {
+                while (rs.next()) {
+                    if (StringUtils.equals(binlogFileName, rs.getString(1))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            JDBCUtils.close(connection);
+        }
+    }
+
+    /**
+     * 断线后按指数退避重连, 从最后读取的事务位置继续
+     * <p>有GTID时依次尝试集群节点, 否则只重连原节点</p>
+     *
+     * @param config
+     */
+    private void reconnect(DatabaseConfig config) {
+        disconnectTime = now();
+        final boolean anyNode = hasGtid();
+        logger.warn("连接断开, binlog:{}, position:{}", binlogFileName, binlogPosition);
+        errorEvent(new ListenerException(String.format("Mysql连接断开, 正在重连, binlog:%s, position:%s", binlogFileName, binlogPosition)));
+
+        long delay = RECONNECT_INITIAL_DELAY;
+        int attempt = 0;
+        while (!closed) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            final int index = anyNode ? (master + attempt) % cluster.size() : master;
+            final Host host = cluster.get(index);
+            try {
+                connect(config, host);
+                master = index;
+                reconnectCount++;
+                lagHeartbeat = 0;
+                downtime += now() - disconnectTime;
+                disconnectTime = 0;
+                logger.info("重连成功:{}:{}, 累计重连{}次", host.getIp(), host.getPort(), reconnectCount);
+                return;
+            } catch (Exception e) {
+                logger.warn("重连失败:{}:{}, {}ms后重试, {}", host.getIp(), host.getPort(), Math.min(delay << 1, RECONNECT_MAX_DELAY), e.getMessage());
+            }
+            attempt++;
+            delay = Math.min(delay << 1, RECONNECT_MAX_DELAY);
+        }
+    }
+
+    /**
+     * 重连成功次数
+     */
+    public long getReconnectCount() {
+        return reconnectCount;
+    }
+
+    /**
+     * 累计断线时长(毫秒), 包括当前未恢复的断线
+     */
+    public long getDowntime() {
+        final long t = disconnectTime;
+        return downtime + (0 == t ? 0 : now() - t);
+    }
+
+    /**
+     * 定时刷新增量点, 同时检测连接: 没有积压却长时间未收到事件和心跳, 断开后自动重连
+     */
+    @Override
+    public void flushEvent() {
+        super.flushEvent();
+        final BinlogRemoteClient c = client;
+        if (closed || null == c || null == c.getBinlogParser() || !c.isRunning()) {
+            return;
+        }
+        final Long idle = c.millisSinceLastEvent();
+        if (null != idle && idle > HEARTBEAT_TIMEOUT && 0 == dispatcher.getQueueSize()) {
+            logger.warn("{}ms未收到binlog事件和心跳, 重新连接", idle);
+            try {
+                c.stopQuietly();
+            } catch (Exception e) {
+                logger.error("断开失败:{}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 运行指标
+     * <ul>
+     * <li>lag: 延迟(毫秒), 事件交付完成时间 - 事件在主库的写入时间</li>
+     * <li>eventRate/byteRate: 每秒交付的行变更数/读取的binlog字节数</li>
+     * <li>queueSize: 已读取未交付完成的事件数</li>
+     * <li>heartbeatCount/millisSinceLastEvent: 当前连接收到的心跳数/距最近一次收到事件或心跳的时间</li>
+     * <li>reconnectCount/downtime: 重连次数/累计断线时长(毫秒)</li>
+     * </ul>
+     */
+    @Override
+    public Map<String, Object> getMetrics() {
+        sample();
+        final BinlogRemoteClient c = client;
+        final boolean parsing = null != c && null != c.getBinlogParser();
+        final long queueSize = null == dispatcher ? 0 : dispatcher.getQueueSize();
+        final long heartbeatCount = parsing ? c.getHeartbeatCount() : 0;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("lag", 0 == queueSize && heartbeatCount > lagHeartbeat ? 0 : lag);
+        metrics.put("eventRate", Math.round(eventRate));
+        metrics.put("byteRate", Math.round(byteRate));
+        metrics.put("queueSize", queueSize);
+        metrics.put("heartbeatCount", heartbeatCount);
+        metrics.put("millisSinceLastEvent", parsing ? c.millisSinceLastEvent() : null);
+        metrics.put("reconnectCount", reconnectCount);
+        metrics.put("downtime", getDowntime());
+        metrics.put("replay", null != replayClient && replayClient.isRunning());
+        metrics.put(BINLOG_FILENAME, binlogFileName);
+        metrics.put(BINLOG_POSITION, binlogPosition);
+        return metrics;
+    }
+
+    /**
+     * 按采样间隔计算吞吐
+     */
+    private synchronized void sample() {
+        final long now = now();
+        final long elapsed = now - sampleTime;
+        if (elapsed < METRICS_SAMPLE_PERIOD) {
+            return;
+        }
+        final long events = eventCount.get();
+        final long bytes = byteCount;
+        if (0 < sampleTime) {
+            eventRate = (events - sampleEvents) * 1000d / elapsed;
+            byteRate = (bytes - sampleBytes) * 1000d / elapsed;
+        }
+        sampleTime = now;
+        sampleEvents = events;
+        sampleBytes = bytes;
+    }
+
+    /**
+     * 记录交付完成的事件
+     *
+     * @param timestamp 事件在主库的写入时间
+     * @param size      行变更数
+     */
+    private void applied(long timestamp, int size) {
+        eventCount.addAndGet(size);
+        lag = Math.max(0, now() - timestamp);
+        final BinlogRemoteClient c = client;
+        lagHeartbeat = null == c || null == c.getBinlogParser() ? 0 : c.getHeartbeatCount();
+    }
+
+    private long now() {
+        return Instant.now().toEpochMilli();
+    }
+
     @Override
     public void close() {
+        synchronized (this) {
+            closed = true;
+        }
         try {
+            if (null != replayClient) {
+                replayClient.stop(0, TimeUnit.MILLISECONDS);
+            }
             if (null != client) {
                 client.stopQuietly();
             }
+            if (null != dispatcher) {
+                dispatcher.stop();
+            }
         } catch (Exception e) {
             logger.error("关闭失败:{}", e.getMessage());
         }
@@ -117,35 +661,119 @@ public class MysqlExtractor extends AbstractExtractor {
     }
 
     /**
-     * 有变化触发刷新binlog增量事件
+     * 解析连接地址中的库名, jdbc:mysql://127.0.0.1:3306/test?useSSL=false => test
      *
-     * @param event
+     * @param url
+     * @return 没有库名返回null
      */
-    private void refresh(AbstractBinlogEventV4 event) {
-        String binlogFilename = event.getBinlogFilename();
-        long nextPosition = event.getHeader().getNextPosition();
+    private String readDatabase(String url) {
+        if (StringUtils.isBlank(url)) {
+            return null;
+        }
+        String path = StringUtils.substringAfter(url, "//");
+        path = StringUtils.substringAfter(path, "/");
+        path = StringUtils.substringBefore(path, "?");
+        return StringUtils.isBlank(path) ? null : path.trim();
+    }
 
-        // binlogFileName
-        if (StringUtils.isNotBlank(binlogFilename) && !StringUtils.equals(binlogFilename, client.getBinlogFileName())) {
-            client.setBinlogFileName(binlogFilename);
+    /**
+     * 目录中最早的binlog文件, mysql-bin.000001
+     *
+     * @param path
+     * @return 没有binlog文件返回null
+     */
+    private String readFirstBinlog(String path) {
+        File[] files = new File(path).listFiles((dir, name) -> name.matches(".+\\.\\d+"));
+        if (null == files || 0 == files.length) {
+            return null;
         }
-        client.setBinlogPosition(nextPosition);
+        Arrays.sort(files);
+        return files[0].getName();
+    }
+
+    /**
+     * 比较binlog位置, 文件按序号比较
+     */
+    private static int compare(String fileName, long position, String otherFileName, long otherPosition) {
+        final int c = Long.compare(getFileIndex(fileName), getFileIndex(otherFileName));
+        return 0 != c ? c : Long.compare(position, otherPosition);
+    }
+
+    /**
+     * mysql-bin.000001 -> 1
+     */
+    private static long getFileIndex(String fileName) {
+        return NumberUtils.toLong(StringUtils.substringAfterLast(fileName, "."), -1);
+    }
+
+    private boolean hasGtid() {
+        final GtidSet set = gtidSet;
+        return null != set && !set.isEmpty();
+    }
+
+    /**
+     * 提交binlog增量点, 与已提交的增量点合并后整体替换
+     *
+     * @param snapshot
+     */
+    private void commit(Map<String, String> snapshot) {
+        checkpoint.updateAndGet(c -> {
+            Map<String, String> m = new HashMap<>(c);
+            m.putAll(snapshot);
+            return Collections.unmodifiableMap(m);
+        });
+    }
 
-        // nextPosition
-        map.put(BINLOG_FILENAME, client.getBinlogFileName());
-        map.put(BINLOG_POSITION, String.valueOf(client.getBinlogPosition()));
+    @Override
+    protected Map<String, String> getCheckpoint() {
+        return checkpoint.get();
     }
 
     final class MysqlEventListener implements BinlogEventListener {
 
+        /**
+         * 分发失败后停止的读取不再处理事件
+         */
+        private final EventDispatcher dispatcher = MysqlExtractor.this.dispatcher;
+
         private Map<Long, String> table = new HashMap<>();
 
+        /**
+         * 按事务交付时缓存当前事务的行变更, 否则为null
+         */
+        private List<RowChangedEvent> transaction = listenerConfig.isTransaction() ? new ArrayList<>() : null;
+
+        /**
+         * 当前事务超过缓存上限, 已分段交付
+         */
+        private boolean oversized;
+
+        /**
+         * 当前事务的GTID
+         */
+        private GtidEvent gtid;
+
+        /**
+         * 当前事务在binlog中的起始位置
+         */
+        private long gtidPosition;
+
+        /**
+         * 最近读取事件在主库的写入时间
+         */
+        private long timestamp;
+
         @Override
         public void onEvents(BinlogEventV4 event) {
             if (event == null) {
                 logger.error("binlog event is null");
                 return;
             }
+            if (!dispatcher.isRunning()) {
+                return;
+            }
+            timestamp = event.getHeader().getTimestamp();
+            byteCount += event.getHeader().getEventLength();
 
             if (event instanceof TableMapEvent) {
                 TableMapEvent tableEvent = (TableMapEvent) event;
@@ -157,14 +785,15 @@ public class MysqlExtractor extends AbstractExtractor {
                 UpdateRowsEventV2 e = (UpdateRowsEventV2) event;
                 final String tableName = table.get(e.getTableId());
                 List<Pair<Row>> rows = e.getRows();
-                for (Pair<Row> p : rows) {
-                    List<Object> before = new ArrayList<>();
-                    List<Object> after = new ArrayList<>();
-                    addAll(before, p.getBefore().getColumns());
-                    addAll(after, p.getAfter().getColumns());
-                    changedLogEvent(tableName, ConnectorConstants.OPERTION_UPDATE, before, after);
-                    //break;
-                }
+                dispatch(tableName, sink -> {
+                    for (Pair<Row> p : rows) {
+                        List<Object> before = new ArrayList<>();
+                        List<Object> after = new ArrayList<>();
+                        addAll(before, p.getBefore().getColumns());
+                        addAll(after, p.getAfter().getColumns());
+                        sink.accept(new RowChangedEvent(tableName, ConnectorConstants.OPERTION_UPDATE, before, after));
+                    }
+                });
                 return;
             }
 
@@ -172,12 +801,13 @@ public class MysqlExtractor extends AbstractExtractor {
                 WriteRowsEventV2 e = (WriteRowsEventV2) event;
                 final String tableName = table.get(e.getTableId());
                 List<Row> rows = e.getRows();
-                for (Row row : rows) {
-                    List<Object> after = new ArrayList<>();
-                    addAll(after, row.getColumns());
-                    changedLogEvent(tableName, ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_LIST, after);
-                    //break;
-                }
+                dispatch(tableName, sink -> {
+                    for (Row row : rows) {
+                        List<Object> after = new ArrayList<>();
+                        addAll(after, row.getColumns());
+                        sink.accept(new RowChangedEvent(tableName, ConnectorConstants.OPERTION_INSERT, Collections.EMPTY_LIST, after));
+                    }
+                });
                 return;
             }
 
@@ -185,31 +815,161 @@ public class MysqlExtractor extends AbstractExtractor {
                 DeleteRowsEventV2 e = (DeleteRowsEventV2) event;
                 final String tableName = table.get(e.getTableId());
                 List<Row> rows = e.getRows();
-                for (Row row : rows) {
-                    List<Object> before = new ArrayList<>();
-                    addAll(before, row.getColumns());
-                    changedLogEvent(tableName, ConnectorConstants.OPERTION_DELETE, before, Collections.EMPTY_LIST);
-                    //break;
-                }
+                dispatch(tableName, sink -> {
+                    for (Row row : rows) {
+                        List<Object> before = new ArrayList<>();
+                        addAll(before, row.getColumns());
+                        sink.accept(new RowChangedEvent(tableName, ConnectorConstants.OPERTION_DELETE, before, Collections.EMPTY_LIST));
+                    }
+                });
+                return;
+            }
+
+            // 事务开始, 上一个没有Xid的事务(如DDL)已结束
+            if (event instanceof GtidEvent) {
+                addGtid();
+                gtid = (GtidEvent) event;
+                gtidPosition = event.getHeader().getPosition();
                 return;
             }
 
             // 处理事件优先级：RotateEvent > FormatDescriptionEvent > TableMapEvent > RowsEvent > XidEvent
             if (event instanceof XidEvent) {
+                addGtid();
+                flushTransaction();
                 refresh((XidEvent) event);
                 return;
             }
 
             // 切换binlog
             if (event instanceof RotateEvent) {
+                flushTransaction();
                 refresh((RotateEvent) event);
                 return;
             }
 
         }
 
+        /**
+         * 有变化触发刷新binlog增量事件
+         *
+         * @param event
+         */
+        private void refresh(AbstractBinlogEventV4 event) {
+            String binlogFilename = event.getBinlogFilename();
+            long nextPosition = event.getHeader().getNextPosition();
+
+            // binlogFileName
+            if (StringUtils.isNotBlank(binlogFilename)) {
+                binlogFileName = binlogFilename;
+            }
+            binlogPosition = nextPosition;
+
+            // 之前的事件处理完成后提交增量点
+            Map<String, String> snapshot = new HashMap<>();
+            snapshot.put(BINLOG_FILENAME, binlogFileName);
+            snapshot.put(BINLOG_POSITION, String.valueOf(binlogPosition));
+            if (hasGtid()) {
+                snapshot.put(BINLOG_GTID, gtidSet.toString());
+            }
+            dispatcher.checkpoint(snapshot);
+        }
+
+        /**
+         * 按事务交付时缓存行变更, 否则按表分发
+         *
+         * @param tableName
+         * @param rows      依次输出行变更
+         */
+        private void dispatch(String tableName, Consumer<Consumer<RowChangedEvent>> rows) {
+            if (null != transaction) {
+                rows.accept(r -> {
+                    transaction.add(r);
+                    // 超过上限的事务不再按事务写入, 分段交付并报告, 限制缓存的行数
+                    if (transaction.size() >= listenerConfig.getMaxTransactionRows()) {
+                        if (!oversized) {
+                            oversized = true;
+                            errorEvent(new ListenerException(String.format("事务超过%d行, 分段写入不保证原子性, 可调大事务上限, binlog:%s, position:%s",
+                                    listenerConfig.getMaxTransactionRows(), binlogFileName, binlogPosition)));
+                        }
+                        dispatchTransaction();
+                    }
+                });
+                return;
+            }
+            final long t = timestamp;
+            dispatcher.dispatch(tableName, () -> {
+                int[] size = {0};
+                rows.accept(r -> {
+                    changedLogEvent(r.getTableName(), r.getEvent(), r.getBefore(), r.getAfter());
+                    size[0]++;
+                });
+                applied(t, size[0]);
+            });
+        }
+
+        /**
+         * 记录已执行的事务, 只在已知起始的GTID集合时记录
+         */
+        private void addGtid() {
+            GtidSet set = gtidSet;
+            if (null == set && null != gtid) {
+                set = getExecutedGtidSet();
+                gtidSet = set;
+            }
+            if (null != gtid && null != set) {
+                set.add(gtid.getSourceId(), gtid.getTransactionId());
+            }
+            gtid = null;
+        }
+
+        /**
+         * 起始的GTID集合
+         * <ol>
+         * <li>首次启动时使用主库当前已执行的GTID集合</li>
+         * <li>从没有GTID的文件/位置恢复时, 使用连接时主库已执行的GTID集合, 当前事务在该位置之后才开始记录, 之前的事务已包含在集合中</li>
+         * </ol>
+         *
+         * @return 还不能确定时返回null
+         */
+        private GtidSet getExecutedGtidSet() {
+            final BinlogRemoteClient c = client;
+            if (null == c) {
+                return null;
+            }
+            if (null != c.getGtidSet()) {
+                return c.getGtidSet();
+            }
+            if (null == c.getExecutedGtidSet() || compare(binlogFileName, gtidPosition, c.getExecutedFileName(), c.getExecutedPosition()) < 0) {
+                return null;
+            }
+            return c.getExecutedGtidSet();
+        }
+
+        /**
+         * 交付缓存的事务
+         */
+        private void flushTransaction() {
+            oversized = false;
+            dispatchTransaction();
+        }
+
+        private void dispatchTransaction() {
+            if (CollectionUtils.isEmpty(transaction)) {
+                return;
+            }
+            final List<RowChangedEvent> events = transaction;
+            transaction = new ArrayList<>();
+            final long t = timestamp;
+            dispatcher.dispatch(null, () -> {
+                changedLogEvents(events);
+                applied(t, events.size());
+            });
+        }
+
         private void addAll(List<Object> before, List<Column> columns) {
-            columns.forEach(c -> before.add((c instanceof StringColumn) ? c.toString() : c.getValue()));
+            // 未解析的列为null
+            columns.forEach(c -> before.add(null == c ? null : (c instanceof StringColumn) ? c.toString() : c.getValue()));
         }
 
     }
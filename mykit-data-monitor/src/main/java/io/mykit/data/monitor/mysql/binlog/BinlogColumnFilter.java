@@ -0,0 +1,15 @@
+package io.mykit.data.monitor.mysql.binlog;
+
+
+import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
+
+public interface BinlogColumnFilter {
+
+    /**
+     * 需要解析的列, 下标与表结构列顺序一致
+     *
+     * @param event
+     * @return 为null时解析所有列
+     */
+    boolean[] getColumns(TableMapEvent event);
+}
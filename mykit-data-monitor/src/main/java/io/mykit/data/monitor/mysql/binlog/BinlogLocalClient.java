@@ -4,6 +4,8 @@ package io.mykit.data.monitor.mysql.binlog;
 import io.mykit.data.monitor.mysql.binlog.impl.FileBasedBinlogParser;
 import io.mykit.data.monitor.mysql.binlog.impl.parser.*;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -12,16 +14,22 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * <ol type="1">
  * <li><dt>binlog文件解析器</dt></li>
  * <dd>监听本地binlog文件增量数据</dd>
+ * <dd>文件映射到内存读取, 从起始位置依次回放到停止文件/位置, 未配置停止位置时回放到最后一个文件末尾</dd>
  * </ol>
  */
 public class BinlogLocalClient {
     protected long stopPosition;
     protected long startPosition;
+    protected String stopFileName;
     protected String binlogFileName;
     protected String binlogFilePath;
+    protected boolean verifyChecksum = true;
 
     protected BinlogParser binlogParser;
+    protected BinlogRowEventFilter filter;
+    protected BinlogColumnFilter columnFilter;
     protected BinlogEventListener binlogEventListener;
+    protected List<BinlogParserListener> binlogParserListener = new CopyOnWriteArrayList<BinlogParserListener>();
     protected final AtomicBoolean running = new AtomicBoolean(false);
     protected String threadSuffixName = "binlog-parser";
 
@@ -36,7 +44,20 @@ public class BinlogLocalClient {
 
         if (this.binlogParser == null) this.binlogParser = getDefaultBinlogParser();
         this.binlogParser.setEventListener(this.binlogEventListener);
-        this.binlogParser.start(threadSuffixName);
+        // 回放结束后标记停止, 先于其他监听器执行
+        this.binlogParserListener.add(0, new BinlogParserListener.Adapter() {
+            @Override
+            public void onStop(BinlogParser parser) {
+                running.set(false);
+            }
+        });
+        this.binlogParser.setParserListeners(this.binlogParserListener);
+        try {
+            this.binlogParser.start(threadSuffixName);
+        } catch (Exception e) {
+            this.running.set(false);
+            throw e;
+        }
     }
 
     public void stop(long timeout, TimeUnit unit) throws Exception {
@@ -55,6 +76,14 @@ public class BinlogLocalClient {
         this.stopPosition = position;
     }
 
+    public String getStopFileName() {
+        return stopFileName;
+    }
+
+    public void setStopFileName(String stopFileName) {
+        this.stopFileName = stopFileName;
+    }
+
     public long getStartPosition() {
         return startPosition;
     }
@@ -95,6 +124,22 @@ public class BinlogLocalClient {
         this.binlogEventListener = listener;
     }
 
+    public void setBinlogParserListener(BinlogParserListener listener) {
+        this.binlogParserListener.add(listener);
+    }
+
+    public void setFilter(BinlogRowEventFilter filter) {
+        this.filter = filter;
+    }
+
+    public void setColumnFilter(BinlogColumnFilter columnFilter) {
+        this.columnFilter = columnFilter;
+    }
+
+    public void setVerifyChecksum(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
     public void setThreadSuffixName(String threadSuffixName) {
         this.threadSuffixName = threadSuffixName;
     }
@@ -110,16 +155,18 @@ public class BinlogLocalClient {
         r.registerEventParser(new UserVarEventParser());
         r.registerEventParser(new IncidentEventParser());
         r.registerEventParser(new TableMapEventParser());
-        r.registerEventParser(new WriteRowsEventParser());
-        r.registerEventParser(new UpdateRowsEventParser());
-        r.registerEventParser(new DeleteRowsEventParser());
-        r.registerEventParser(new WriteRowsEventV2Parser());
-        r.registerEventParser(new UpdateRowsEventV2Parser());
-        r.registerEventParser(new DeleteRowsEventV2Parser());
+        r.registerEventParser(new WriteRowsEventParser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new UpdateRowsEventParser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new DeleteRowsEventParser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new WriteRowsEventV2Parser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new UpdateRowsEventV2Parser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new DeleteRowsEventV2Parser().setRowEventFilter(filter).setColumnFilter(columnFilter));
         r.registerEventParser(new FormatDescriptionEventParser());
         r.registerEventParser(new GtidEventParser());
 
+        r.setStopFileName(this.stopFileName);
         r.setStopPosition(this.stopPosition);
+        r.setVerifyChecksum(this.verifyChecksum);
         r.setStartPosition(this.startPosition);
         r.setBinlogFileName(this.binlogFileName);
         r.setBinlogFilePath(this.binlogFilePath);
@@ -3,6 +3,7 @@ package io.mykit.data.monitor.mysql.binlog;
 
 import io.mykit.data.monitor.mysql.binlog.impl.ReplicationBasedBinlogParser;
 import io.mykit.data.monitor.mysql.binlog.impl.parser.*;
+import io.mykit.data.monitor.mysql.common.glossary.GtidSet;
 import io.mykit.data.monitor.mysql.common.glossary.column.StringColumn;
 import io.mykit.data.monitor.mysql.io.impl.SocketFactoryImpl;
 import io.mykit.data.monitor.mysql.net.Packet;
@@ -12,7 +13,9 @@ import io.mykit.data.monitor.mysql.net.impl.AuthenticatorImpl;
 import io.mykit.data.monitor.mysql.net.impl.Query;
 import io.mykit.data.monitor.mysql.net.impl.TransportImpl;
 import io.mykit.data.monitor.mysql.net.impl.packet.ErrorPacket;
+import io.mykit.data.monitor.mysql.net.impl.packet.command.ComBinlogDumpGtidPacket;
 import io.mykit.data.monitor.mysql.net.impl.packet.command.ComBinlogDumpPacket;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,10 +48,17 @@ public class BinlogRemoteClient {
     protected String encoding = "utf-8";
     protected String binlogFileName;
     protected long binlogPosition = 4;
+    // 已执行的GTID集合, 不为空时按GTID定位
+    protected GtidSet gtidSet;
+    // 连接时主库已执行的GTID集合及对应的binlog位置, 从文件/位置恢复时读到该位置后可按GTID记录
+    protected GtidSet executedGtidSet;
+    protected String executedFileName;
+    protected long executedPosition;
 
     protected Float heartbeatPeriod;
     protected Transport transport;
     protected BinlogRowEventFilter filter;
+    protected BinlogColumnFilter columnFilter;
     protected ReplicationBasedBinlogParser binlogParser;
     protected List<BinlogParserListener> binlogParserListener = new CopyOnWriteArrayList<BinlogParserListener>();
     protected BinlogEventListener binlogEventListener;
@@ -56,6 +66,8 @@ public class BinlogRemoteClient {
     protected String uuid = UUID.randomUUID().toString();
     // 当发生异常的是否停止线程,默认false直接终止
     protected boolean stopOnEOF = false;
+    // 是否校验binlog事件校验和
+    protected boolean verifyChecksum = true;
     protected int level1BufferSize = 1024 * 1024;
     protected int level2BufferSize = 8 * 1024 * 1024;
     protected int socketReceiveBufferSize = 512 * 1024;
@@ -97,6 +109,7 @@ public class BinlogRemoteClient {
         this.binlogParser.setTransport(this.transport);
         this.binlogParser.setBinlogFileName(this.binlogFileName);
         this.binlogParser.setEventListener(this.binlogEventListener);
+        this.binlogParser.setVerifyChecksum(this.verifyChecksum);
         this.binlogParserListener.add(new BinlogParserListener.Adapter() {
             @Override
             public void onStop(BinlogParser parser) {
@@ -166,11 +179,23 @@ public class BinlogRemoteClient {
     }
 
     private void setupFilenameAndPosition(Query query) throws Exception {
-        if (null == binlogFileName) {
+        if (null == binlogFileName || null == gtidSet) {
             try {
                 List<String> cols = query.getFirst("show master status");
-                binlogFileName = cols.get(0);
-                binlogPosition = Long.parseLong(cols.get(1));
+                // Executed_Gtid_Set, 开启GTID时记录主库当前位置已执行的事务
+                if (cols.size() > 4 && StringUtils.isNotBlank(cols.get(4))) {
+                    executedGtidSet = new GtidSet(cols.get(4));
+                    executedFileName = cols.get(0);
+                    executedPosition = Long.parseLong(cols.get(1));
+                }
+                if (null == binlogFileName) {
+                    binlogFileName = cols.get(0);
+                    binlogPosition = Long.parseLong(cols.get(1));
+                    // 首次启动从当前位置开始, 已执行的事务即为起点
+                    if (null == gtidSet) {
+                        gtidSet = executedGtidSet;
+                    }
+                }
             } catch (TransportException e) {
                 // ignore no-such-variable errors on mysql 5.5
                 if (e.getErrorCode() != 1193)
@@ -213,6 +238,10 @@ public class BinlogRemoteClient {
     }
 
     private void dumpBinlog() throws Exception {
+        if (null != this.gtidSet && !this.gtidSet.isEmpty()) {
+            dumpBinlogGtid();
+            return;
+        }
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(String.format("starting replication at %s:%d", this.binlogFileName, this.binlogPosition));
         }
@@ -231,15 +260,36 @@ public class BinlogRemoteClient {
         }
     }
 
+    /**
+     * 按GTID定位, 从第一个未执行的事务开始, 可在集群任一节点恢复
+     */
+    private void dumpBinlogGtid() throws Exception {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(String.format("starting replication at gtid %s", this.gtidSet));
+        }
+        final ComBinlogDumpGtidPacket command = new ComBinlogDumpGtidPacket();
+        command.setServerId(this.serverId);
+        command.setGtidSet(this.gtidSet);
+        this.transport.getOutputStream().writePacket(command);
+        this.transport.getOutputStream().flush();
+
+        final Packet packet = this.transport.getInputStream().readPacket();
+        if (packet.getPacketBody()[0] == ErrorPacket.PACKET_MARKER) {
+            final ErrorPacket error = ErrorPacket.valueOf(packet);
+            throw new TransportException(error);
+        }
+    }
+
     private ReplicationBasedBinlogParser getSimpleBinlogParser() throws Exception {
         final ReplicationBasedBinlogParser r = new ReplicationBasedBinlogParser(stopOnEOF, threadSuffixName);
         r.registerEventParser(new RotateEventParser());
         r.registerEventParser(new FormatDescriptionEventParser());
         r.registerEventParser(new XidEventParser());
         r.registerEventParser(new TableMapEventParser());
-        r.registerEventParser(new WriteRowsEventV2Parser().setRowEventFilter(filter));
-        r.registerEventParser(new UpdateRowsEventV2Parser().setRowEventFilter(filter));
-        r.registerEventParser(new DeleteRowsEventV2Parser().setRowEventFilter(filter));
+        r.registerEventParser(new GtidEventParser());
+        r.registerEventParser(new WriteRowsEventV2Parser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new UpdateRowsEventV2Parser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new DeleteRowsEventV2Parser().setRowEventFilter(filter).setColumnFilter(columnFilter));
         return r;
     }
 
@@ -251,10 +301,9 @@ public class BinlogRemoteClient {
         r.registerEventParser(new QueryEventParser());
         r.registerEventParser(new UserVarEventParser());
         r.registerEventParser(new IncidentEventParser());
-        r.registerEventParser(new WriteRowsEventParser());
-        r.registerEventParser(new UpdateRowsEventParser());
-        r.registerEventParser(new DeleteRowsEventParser());
-        r.registerEventParser(new GtidEventParser());
+        r.registerEventParser(new WriteRowsEventParser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new UpdateRowsEventParser().setRowEventFilter(filter).setColumnFilter(columnFilter));
+        r.registerEventParser(new DeleteRowsEventParser().setRowEventFilter(filter).setColumnFilter(columnFilter));
         return r;
     }
 
@@ -315,6 +364,31 @@ public class BinlogRemoteClient {
     }
 
 
+    public GtidSet getGtidSet() {
+        return gtidSet;
+    }
+
+
+    public void setGtidSet(GtidSet gtidSet) {
+        this.gtidSet = gtidSet;
+    }
+
+
+    public GtidSet getExecutedGtidSet() {
+        return executedGtidSet;
+    }
+
+
+    public String getExecutedFileName() {
+        return executedFileName;
+    }
+
+
+    public long getExecutedPosition() {
+        return executedPosition;
+    }
+
+
     public void setBinlogFileName(String binlogFileName) {
         this.binlogFileName = binlogFileName;
     }
@@ -364,6 +438,10 @@ public class BinlogRemoteClient {
         this.filter = filter;
     }
 
+    public void setColumnFilter(BinlogColumnFilter columnFilter) {
+        this.columnFilter = columnFilter;
+    }
+
     public BinlogParser getBinlogParser() {
         return binlogParser;
     }
@@ -393,4 +471,9 @@ public class BinlogRemoteClient {
     public void setStopOnEOF(boolean stopOnEOF) {
         this.stopOnEOF = stopOnEOF;
     }
+
+
+    public void setVerifyChecksum(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
 }
@@ -9,30 +9,39 @@ import io.mykit.data.monitor.mysql.common.util.CodecUtils;
 import io.mykit.data.monitor.mysql.common.util.IOUtils;
 import io.mykit.data.monitor.mysql.common.util.MySQLConstants;
 import io.mykit.data.monitor.mysql.io.XInputStream;
-import io.mykit.data.monitor.mysql.io.impl.XInputStreamImpl;
-import io.mykit.data.monitor.mysql.io.util.RamdomAccessFileInputStream;
+import io.mykit.data.monitor.mysql.io.impl.XByteBufferInputStream;
 import io.mykit.data.monitor.mysql.net.impl.EventInputStream;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 回放本地binlog文件, 文件映射到内存读取, 按轮转事件依次读取后续文件, 直到停止文件/位置或没有后续文件
+ */
 public class FileBasedBinlogParser extends AbstractBinlogParser {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileBasedBinlogParser.class);
 
     protected XInputStream is;
     protected String binlogFileName;
     protected String binlogFilePath;
+    // 停止文件, 为空时停止位置作用于起始文件
+    protected String stopFileName;
     protected long stopPosition = 0;
     protected long startPosition = 4;
+    protected boolean verifyChecksum = true;
 
     public FileBasedBinlogParser() {
     }
 
     @Override
     protected void doStart() throws Exception {
-        this.is = open(this.binlogFilePath + "/" + this.binlogFileName, this.startPosition);
+        this.is = open(getPath(this.binlogFileName), this.startPosition);
     }
 
     @Override
@@ -56,6 +65,18 @@ public class FileBasedBinlogParser extends AbstractBinlogParser {
         this.binlogFilePath = path;
     }
 
+    public String getStopFileName() {
+        return stopFileName;
+    }
+
+    public void setStopFileName(String stopFileName) {
+        this.stopFileName = stopFileName;
+    }
+
+    public void setVerifyChecksum(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
     public long getStopPosition() {
         return stopPosition;
     }
@@ -75,9 +96,36 @@ public class FileBasedBinlogParser extends AbstractBinlogParser {
     @Override
     protected void doParse() throws Exception {
         final Context context = new Context(this);
-        final EventInputStream es = new EventInputStream(is);
+        final String stopFile = StringUtils.isNotBlank(this.stopFileName) ? this.stopFileName : this.binlogFileName;
+        final boolean stopConfigured = StringUtils.isNotBlank(this.stopFileName) || this.stopPosition > 0;
+
+        while (isRunning()) {
+            final String fileName = this.binlogFileName;
+            final boolean stopped = parse(context, StringUtils.equals(fileName, stopFile));
+            IOUtils.closeQuietly(this.is);
+            if (stopped || (stopConfigured && StringUtils.equals(fileName, stopFile))) {
+                break;
+            }
+
+            // 读取轮转事件指向的下一个文件
+            final String next = context.getBinlogFileName();
+            if (StringUtils.isBlank(next) || StringUtils.equals(next, fileName) || !new File(getPath(next)).isFile()) {
+                break;
+            }
+            this.binlogFileName = next;
+            this.is = open(getPath(next), 4L);
+        }
+    }
 
+    /**
+     * 读取当前文件
+     *
+     * @return 是否到达停止位置
+     */
+    private boolean parse(Context context, boolean stopFile) throws Exception {
+        final EventInputStream es = new EventInputStream(is);
         es.setChecksumEnabled(findChecksumEnabled());
+        es.setVerifyChecksum(this.verifyChecksum);
 
         while (isRunning() && is.available() > 0) {
             final BinlogEventV4HeaderImpl header = es.getNextBinlogHeader();
@@ -86,8 +134,8 @@ public class FileBasedBinlogParser extends AbstractBinlogParser {
                     LOGGER.info("read an event, header: {}", header);
                 }
 
-                if (this.stopPosition > 0 && header.getPosition() > this.stopPosition) {
-                    break;
+                if (stopFile && this.stopPosition > 0 && header.getPosition() > this.stopPosition) {
+                    return true;
                 }
 
                 // Parse the event body
@@ -98,6 +146,9 @@ public class FileBasedBinlogParser extends AbstractBinlogParser {
                     if (parser == null) parser = this.defaultParser;
                     parser.parse(es, header, context);
                 }
+                if (es.available() != 0) {
+                    es.skip(es.available());
+                }
 
                 es.finishEvent(header);
             } catch (Exception e) {
@@ -107,11 +158,12 @@ public class FileBasedBinlogParser extends AbstractBinlogParser {
                 is.setReadLimit(0);
             }
         }
+        return false;
     }
 
     @SuppressWarnings("resource")
     private boolean findChecksumEnabled() throws Exception {
-        final XInputStream is = open(this.binlogFilePath + "/" + this.binlogFileName, 4L);
+        final XInputStream is = open(getPath(this.binlogFileName), 4L);
         final Context context = new Context(this) {
             @Override
             public void onEvents(BinlogEventV4 event) {
@@ -133,8 +185,22 @@ public class FileBasedBinlogParser extends AbstractBinlogParser {
         return context.getChecksumEnabled();
     }
 
+    private String getPath(String fileName) {
+        return this.binlogFilePath + "/" + fileName;
+    }
+
+    /**
+     * 整个文件映射到内存(binlog文件不超过1G), 事件按块从映射区复制, 映射区随对象回收释放
+     */
     protected XInputStream open(String path, Long offset) throws Exception {
-        final XInputStream is = new XInputStreamImpl(new RamdomAccessFileInputStream(new File(path)));
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(new File(path).toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new RuntimeException("binlog file is too large to map, file: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        final XInputStream is = new XByteBufferInputStream(buffer);
         try {
             // Check binlog magic
             final byte[] magic = is.readBytes(MySQLConstants.BINLOG_MAGIC.length);
@@ -20,6 +20,7 @@ public class ReplicationBasedBinlogParser extends AbstractBinlogParser {
     private final boolean stopOnEOF;
     protected long heartbeatCount = 0;
     protected Long lastEventMillis = null;
+    protected boolean verifyChecksum = true;
 
     protected Transport transport;
 
@@ -42,6 +43,10 @@ public class ReplicationBasedBinlogParser extends AbstractBinlogParser {
         this.transport = transport;
     }
 
+    public void setVerifyChecksum(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
     @Override
     public String getBinlogFileName() {
         return binlogFileName;
@@ -85,6 +90,7 @@ public class ReplicationBasedBinlogParser extends AbstractBinlogParser {
     protected void doParse() throws Exception {
         final TransportInputStream is = this.transport.getInputStream();
         final EventInputStream es = new EventInputStream(is);
+        es.setVerifyChecksum(verifyChecksum);
 
         final Context context = new Context(this);
 
@@ -118,8 +124,8 @@ public class ReplicationBasedBinlogParser extends AbstractBinlogParser {
                 parser.parse(es, header, context);
 
                 //解决解析MySQL8 binlog字节位错位的问题
-                while (es.available() != 0){
-                    es.read();
+                if (es.available() != 0) {
+                    es.skip(es.available());
                 }
             }
 
@@ -0,0 +1,70 @@
+package io.mykit.data.monitor.mysql.binlog.impl.filter;
+
+
+import io.mykit.data.monitor.mysql.binlog.BinlogColumnFilter;
+import io.mykit.data.monitor.mysql.binlog.BinlogEventV4Header;
+import io.mykit.data.monitor.mysql.binlog.BinlogParserContext;
+import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <h3>表拦截器</h3>
+ * <ol type="1">
+ * <li><dt>只解析监听库中监听表的行事件, 其他表的行数据按字节跳过, 不解析列</dt></li>
+ * <li><dt>监听表只解析同步字段, 其他列按长度跳过</dt></li>
+ * <li><dt>库名为空时不校验库名</dt></li>
+ * </ol>
+ */
+public class BinlogRowEventTableFilter extends BinlogRowEventFilterImpl implements BinlogColumnFilter {
+
+    private final String databaseName;
+
+    /**
+     * <表名(小写), 需要解析的列>, 列为null时解析所有列
+     */
+    private final Map<String, boolean[]> tableColumns;
+
+    public BinlogRowEventTableFilter(String databaseName, Map<String, ? extends Collection<Integer>> tableColumns) {
+        this.databaseName = databaseName;
+        this.tableColumns = new HashMap<>();
+        tableColumns.forEach((t, c) -> this.tableColumns.put(t.toLowerCase(Locale.ENGLISH), toProjection(c)));
+    }
+
+    @Override
+    public boolean accepts(BinlogEventV4Header header, BinlogParserContext context, TableMapEvent event) {
+        if (!super.accepts(header, context, event)) {
+            return false;
+        }
+        if (StringUtils.isNotBlank(databaseName) && !StringUtils.equalsIgnoreCase(databaseName, event.getDatabaseName().toString())) {
+            return false;
+        }
+        return tableColumns.containsKey(getKey(event));
+    }
+
+    @Override
+    public boolean[] getColumns(TableMapEvent event) {
+        return tableColumns.get(getKey(event));
+    }
+
+    private String getKey(TableMapEvent event) {
+        return event.getTableName().toString().toLowerCase(Locale.ENGLISH);
+    }
+
+    private boolean[] toProjection(Collection<Integer> columns) {
+        if (null == columns || columns.isEmpty()) {
+            return null;
+        }
+        int max = 0;
+        for (int i : columns) {
+            max = Math.max(max, i);
+        }
+        boolean[] projection = new boolean[max + 1];
+        columns.forEach(i -> projection[i] = true);
+        return projection;
+    }
+}
@@ -1,6 +1,7 @@
 package io.mykit.data.monitor.mysql.binlog.impl.parser;
 
 
+import io.mykit.data.monitor.mysql.binlog.BinlogColumnFilter;
 import io.mykit.data.monitor.mysql.binlog.BinlogRowEventFilter;
 import io.mykit.data.monitor.mysql.binlog.impl.event.TableMapEvent;
 import io.mykit.data.monitor.mysql.binlog.impl.filter.BinlogRowEventFilterImpl;
@@ -19,6 +20,7 @@ import java.util.List;
 
 public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
     protected BinlogRowEventFilter rowEventFilter;
+    protected BinlogColumnFilter columnFilter;
 
     public AbstractRowEventParser(int eventType) {
         super(eventType);
@@ -34,8 +36,42 @@ public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
         return this;
     }
 
+    public BinlogColumnFilter getColumnFilter() {
+        return columnFilter;
+    }
+
+    public AbstractRowEventParser setColumnFilter(BinlogColumnFilter columnFilter) {
+        this.columnFilter = columnFilter;
+        return this;
+    }
+
+    /**
+     * 需要解析的列, 每个事件获取一次
+     *
+     * @param tme
+     * @return 为null时解析所有列
+     */
+    protected boolean[] getProjection(TableMapEvent tme) {
+        return null == columnFilter || null == tme ? null : columnFilter.getColumns(tme);
+    }
+
     protected Row parseRow(XInputStream is, TableMapEvent tme, BitColumn usedColumns)
             throws IOException {
+        return parseRow(is, tme, usedColumns, null);
+    }
+
+    /**
+     * 解析行数据, 不需要解析的列按长度跳过, 以null占位保持列下标不变
+     *
+     * @param is
+     * @param tme
+     * @param usedColumns
+     * @param projection  需要解析的列, 为null时解析所有列
+     * @return
+     * @throws IOException
+     */
+    protected Row parseRow(XInputStream is, TableMapEvent tme, BitColumn usedColumns, boolean[] projection)
+            throws IOException {
         int unusedColumnCount = 0;
         final byte[] types = tme.getColumnTypes();
         final Metadata metadata = tme.getColumnMetadata();
@@ -72,6 +108,10 @@ public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
             } else if (nullColumns.get(i - unusedColumnCount)) {
                 columns.add(NullColumn.valueOf(type));
                 continue;
+            } else if (null != projection && (i >= projection.length || !projection[i])) {
+                skipColumn(is, type, meta, length);
+                columns.add(null);
+                continue;
             }
 
             switch (type) {
@@ -180,4 +220,69 @@ public abstract class AbstractRowEventParser extends AbstractBinlogEventParser {
         }
         return new Row(columns);
     }
+
+    /**
+     * 按列类型跳过列值, 不创建列对象
+     */
+    private void skipColumn(XInputStream is, int type, int meta, int length) throws IOException {
+        switch (type) {
+            case MySQLConstants.TYPE_TINY:
+            case MySQLConstants.TYPE_YEAR:
+                is.skip(1);
+                break;
+            case MySQLConstants.TYPE_SHORT:
+                is.skip(2);
+                break;
+            case MySQLConstants.TYPE_INT24:
+            case MySQLConstants.TYPE_DATE:
+            case MySQLConstants.TYPE_TIME:
+                is.skip(3);
+                break;
+            case MySQLConstants.TYPE_LONG:
+            case MySQLConstants.TYPE_FLOAT:
+            case MySQLConstants.TYPE_TIMESTAMP:
+                is.skip(4);
+                break;
+            case MySQLConstants.TYPE_LONGLONG:
+            case MySQLConstants.TYPE_DOUBLE:
+            case MySQLConstants.TYPE_DATETIME:
+                is.skip(8);
+                break;
+            case MySQLConstants.TYPE_ENUM:
+            case MySQLConstants.TYPE_SET:
+                is.skip(length);
+                break;
+            case MySQLConstants.TYPE_BIT:
+                final int bitLength = (meta >> 8) * 8 + (meta & 0xFF);
+                is.skip((bitLength + 7) >> 3);
+                break;
+            case MySQLConstants.TYPE_BLOB:
+                is.skip(is.readInt(meta));
+                break;
+            case MySQLConstants.TYPE_GEOMETRY:
+                // 与解析保持一致, 暂时不考虑该类型实现
+                break;
+            case MySQLConstants.TYPE_NEWDECIMAL:
+                is.skip(MySQLUtils.getDecimalBinarySize(meta & 0xFF, meta >> 8));
+                break;
+            case MySQLConstants.TYPE_STRING:
+                is.skip(length < 256 ? is.readInt(1) : is.readInt(2));
+                break;
+            case MySQLConstants.TYPE_VARCHAR:
+            case MySQLConstants.TYPE_VAR_STRING:
+                is.skip(meta < 256 ? is.readInt(1) : is.readInt(2));
+                break;
+            case MySQLConstants.TYPE_TIME2:
+                is.skip(3 + (meta + 1) / 2);
+                break;
+            case MySQLConstants.TYPE_DATETIME2:
+                is.skip(5 + (meta + 1) / 2);
+                break;
+            case MySQLConstants.TYPE_TIMESTAMP2:
+                is.skip(4 + (meta + 1) / 2);
+                break;
+            default:
+                throw new RuntimeException("assertion failed, unknown column type: " + type);
+        }
+    }
 }
@@ -40,8 +40,9 @@ public class DeleteRowsEventParser extends AbstractRowEventParser {
     protected List<Row> parseRows(XInputStream is, TableMapEvent tme, DeleteRowsEvent dre)
             throws IOException {
         final List<Row> r = new LinkedList<Row>();
+        final boolean[] projection = getProjection(tme);
         while (is.available() > 0) {
-            r.add(parseRow(is, tme, dre.getUsedColumns()));
+            r.add(parseRow(is, tme, dre.getUsedColumns(), projection));
         }
         return r;
     }
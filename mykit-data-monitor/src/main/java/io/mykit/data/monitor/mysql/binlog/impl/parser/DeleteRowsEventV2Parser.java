@@ -41,8 +41,9 @@ public class DeleteRowsEventV2Parser extends AbstractRowEventParser {
     protected List<Row> parseRows(XInputStream is, TableMapEvent tme, DeleteRowsEventV2 dre)
             throws IOException {
         final List<Row> r = new LinkedList<Row>();
+        final boolean[] projection = getProjection(tme);
         while (is.available() > 0) {
-            r.add(parseRow(is, tme, dre.getUsedColumns()));
+            r.add(parseRow(is, tme, dre.getUsedColumns(), projection));
         }
         return r;
     }
@@ -42,9 +42,10 @@ public class UpdateRowsEventParser extends AbstractRowEventParser {
     protected List<Pair<Row>> parseRows(XInputStream is, TableMapEvent tme, UpdateRowsEvent ure)
             throws IOException {
         final List<Pair<Row>> r = new LinkedList<Pair<Row>>();
+        final boolean[] projection = getProjection(tme);
         while (is.available() > 0) {
-            final Row before = parseRow(is, tme, ure.getUsedColumnsBefore());
-            final Row after = parseRow(is, tme, ure.getUsedColumnsAfter());
+            final Row before = parseRow(is, tme, ure.getUsedColumnsBefore(), projection);
+            final Row after = parseRow(is, tme, ure.getUsedColumnsAfter(), projection);
             r.add(new Pair<Row>(before, after));
         }
         return r;
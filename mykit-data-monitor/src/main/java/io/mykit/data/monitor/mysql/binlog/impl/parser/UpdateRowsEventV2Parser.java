@@ -44,9 +44,10 @@ public class UpdateRowsEventV2Parser extends AbstractRowEventParser {
     protected List<Pair<Row>> parseRows(XInputStream is, TableMapEvent tme, UpdateRowsEventV2 ure)
             throws IOException {
         final List<Pair<Row>> r = new LinkedList<Pair<Row>>();
+        final boolean[] projection = getProjection(tme);
         while (is.available() > 0) {
-            final Row before = parseRow(is, tme, ure.getUsedColumnsBefore());
-            final Row after = parseRow(is, tme, ure.getUsedColumnsAfter());
+            final Row before = parseRow(is, tme, ure.getUsedColumnsBefore(), projection);
+            final Row after = parseRow(is, tme, ure.getUsedColumnsAfter(), projection);
             r.add(new Pair<Row>(before, after));
         }
         return r;
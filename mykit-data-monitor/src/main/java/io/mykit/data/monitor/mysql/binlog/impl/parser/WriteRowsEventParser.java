@@ -41,8 +41,9 @@ public class WriteRowsEventParser extends AbstractRowEventParser {
     protected List<Row> parseRows(XInputStream is, TableMapEvent tme, WriteRowsEvent wre)
             throws IOException {
         final List<Row> r = new LinkedList<Row>();
+        final boolean[] projection = getProjection(tme);
         while (is.available() > 0) {
-            r.add(parseRow(is, tme, wre.getUsedColumns()));
+            r.add(parseRow(is, tme, wre.getUsedColumns(), projection));
         }
         return r;
     }
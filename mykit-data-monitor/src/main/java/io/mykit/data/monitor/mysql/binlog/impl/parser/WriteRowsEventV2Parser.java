@@ -44,8 +44,9 @@ public class WriteRowsEventV2Parser extends AbstractRowEventParser {
     protected List<Row> parseRows(XInputStream is, TableMapEvent tme, WriteRowsEventV2 wre)
             throws IOException {
         final List<Row> r = new LinkedList<Row>();
+        final boolean[] projection = getProjection(tme);
         while (is.available() > 0) {
-            r.add(parseRow(is, tme, wre.getUsedColumns()));
+            r.add(parseRow(is, tme, wre.getUsedColumns(), projection));
         }
         return r;
     }
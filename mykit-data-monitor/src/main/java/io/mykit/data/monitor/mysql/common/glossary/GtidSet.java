@@ -0,0 +1,152 @@
+package io.mykit.data.monitor.mysql.common.glossary;
+
+
+import io.mykit.data.monitor.mysql.io.util.XSerializer;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 已执行的GTID集合, 格式与gtid_executed一致:
+ * <pre>
+ *     3E11FA47-71CA-11E1-9E33-C80AA9429562:1-5:7,4E11FA47-71CA-11E1-9E33-C80AA9429562:1-3
+ * </pre>
+ * 区间为闭区间, 相邻的区间自动合并
+ */
+public final class GtidSet {
+    private final Map<String, List<long[]>> sets = new LinkedHashMap<>();
+
+    public GtidSet() {
+    }
+
+    public GtidSet(String gtidSet) {
+        if (StringUtils.isBlank(gtidSet)) {
+            return;
+        }
+        for (String uuidSet : StringUtils.split(StringUtils.remove(StringUtils.remove(gtidSet, '\n'), ' '), ',')) {
+            String[] parts = StringUtils.split(uuidSet, ':');
+            List<long[]> intervals = getIntervals(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                String[] range = StringUtils.split(parts[i], '-');
+                long start = Long.parseLong(range[0]);
+                long end = range.length > 1 ? Long.parseLong(range[1]) : start;
+                add(intervals, start, end);
+            }
+        }
+    }
+
+    /**
+     * 添加已执行的事务
+     *
+     * @param sourceId      16字节的server_uuid
+     * @param transactionId
+     */
+    public void add(byte[] sourceId, long transactionId) {
+        add(toUUID(sourceId), transactionId);
+    }
+
+    public void add(String uuid, long transactionId) {
+        add(getIntervals(uuid), transactionId, transactionId);
+    }
+
+    public boolean isEmpty() {
+        return sets.isEmpty();
+    }
+
+    /**
+     * COM_BINLOG_DUMP_GTID编码
+     * <pre>
+     *     8B uuid数 + (16B uuid + 8B 区间数 + (8B 起始 + 8B 结束(不含))*)*
+     * </pre>
+     */
+    public byte[] encode() {
+        final XSerializer s = new XSerializer(64);
+        s.writeLong(sets.size(), 8);
+        sets.forEach((uuid, intervals) -> {
+            s.writeBytes(toBytes(uuid));
+            s.writeLong(intervals.size(), 8);
+            intervals.forEach(i -> {
+                s.writeLong(i[0], 8);
+                s.writeLong(i[1] + 1, 8);
+            });
+        });
+        return s.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        sets.forEach((uuid, intervals) -> {
+            if (b.length() > 0) {
+                b.append(",");
+            }
+            b.append(uuid);
+            intervals.forEach(i -> {
+                b.append(":").append(i[0]);
+                if (i[1] > i[0]) {
+                    b.append("-").append(i[1]);
+                }
+            });
+        });
+        return b.toString();
+    }
+
+    private List<long[]> getIntervals(String uuid) {
+        return sets.computeIfAbsent(uuid.trim().toLowerCase(), k -> new ArrayList<>());
+    }
+
+    /**
+     * 按起始值有序插入, 合并重叠和相邻的区间
+     */
+    private void add(List<long[]> intervals, long start, long end) {
+        int i = 0;
+        while (i < intervals.size() && intervals.get(i)[1] + 1 < start) {
+            i++;
+        }
+        long[] merged = new long[]{start, end};
+        Iterator<long[]> it = intervals.listIterator(i);
+        while (it.hasNext()) {
+            long[] next = it.next();
+            if (next[0] > merged[1] + 1) {
+                break;
+            }
+            merged[0] = Math.min(merged[0], next[0]);
+            merged[1] = Math.max(merged[1], next[1]);
+            it.remove();
+        }
+        intervals.add(i, merged);
+    }
+
+    private static String toUUID(byte[] b) {
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (b[i] & 0xFF);
+        }
+        for (int i = 8; i < 16; i++) {
+            lsb = (lsb << 8) | (b[i] & 0xFF);
+        }
+        return new UUID(msb, lsb).toString();
+    }
+
+    private static byte[] toBytes(String uuid) {
+        UUID u = UUID.fromString(uuid);
+        byte[] b = new byte[16];
+        long msb = u.getMostSignificantBits();
+        long lsb = u.getLeastSignificantBits();
+        for (int i = 7; i >= 0; i--) {
+            b[i] = (byte) msb;
+            msb >>>= 8;
+        }
+        for (int i = 15; i >= 8; i--) {
+            b[i] = (byte) lsb;
+            lsb >>>= 8;
+        }
+        return b;
+    }
+}
@@ -63,6 +63,7 @@ public final class MySQLConstants {
     public static final int COM_STMT_FETCH = 0x1c;
     public static final int COM_DAEMON = 0x1d;
     public static final int COM_END = 0x1e;
+    public static final int COM_BINLOG_DUMP_GTID = 0x1e;
 
     // Status variable type
     public static final int Q_FLAGS2_CODE = 0;
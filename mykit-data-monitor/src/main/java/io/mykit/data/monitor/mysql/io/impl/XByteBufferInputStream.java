@@ -0,0 +1,244 @@
+package io.mykit.data.monitor.mysql.io.impl;
+
+
+import io.mykit.data.monitor.mysql.common.glossary.UnsignedLong;
+import io.mykit.data.monitor.mysql.common.glossary.column.BitColumn;
+import io.mykit.data.monitor.mysql.common.glossary.column.StringColumn;
+import io.mykit.data.monitor.mysql.common.util.CodecUtils;
+import io.mykit.data.monitor.mysql.io.ExceedLimitException;
+import io.mykit.data.monitor.mysql.io.XInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 基于ByteBuffer的输入流, 整数按小端字节序批量读取, 不逐字节调用read()
+ */
+public class XByteBufferInputStream extends InputStream implements XInputStream {
+    protected ByteBuffer buffer;
+    private int end;
+    private boolean limited;
+
+    public XByteBufferInputStream(ByteBuffer buffer) {
+        setBuffer(buffer);
+    }
+
+    /**
+     * 切换数据, 从position读取到limit
+     */
+    protected void setBuffer(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.end = buffer.limit();
+        this.limited = false;
+    }
+
+    public int readInt(int length) throws IOException {
+        return readInt(length, true);
+    }
+
+    public long readLong(int length) throws IOException {
+        return readLong(length, true);
+    }
+
+    public byte[] readBytes(int length) throws IOException {
+        ensure(length);
+        final byte[] r = new byte[length];
+        this.buffer.get(r, 0, length);
+        return r;
+    }
+
+    public BitColumn readBit(int length) throws IOException {
+        return readBit(length, true);
+    }
+
+    public UnsignedLong readUnsignedLong() throws IOException {
+        final int v = this.read();
+        if (v < 251) return UnsignedLong.valueOf(v);
+        else if (v == 251) return null;
+        else if (v == 252) return UnsignedLong.valueOf(readInt(2));
+        else if (v == 253) return UnsignedLong.valueOf(readInt(3));
+        else if (v == 254) return UnsignedLong.valueOf(readLong(8));
+        else throw new RuntimeException("assertion failed, should NOT reach here");
+    }
+
+    public StringColumn readLengthCodedString() throws IOException {
+        final UnsignedLong length = readUnsignedLong();
+        return length == null ? null : readFixedLengthString(length.intValue());
+    }
+
+    public StringColumn readNullTerminatedString() throws IOException {
+        final int start = this.buffer.position();
+        int i = start;
+        final int limit = this.buffer.limit();
+        while (i < limit && this.buffer.get(i) != 0) {
+            i++;
+        }
+        if (i >= limit) {
+            throw limited ? new ExceedLimitException() : new EOFException();
+        }
+        final byte[] r = readBytes(i - start);
+        this.buffer.get(); // 跳过结束符
+        return StringColumn.valueOf(r);
+    }
+
+    public StringColumn readFixedLengthString(final int length) throws IOException {
+        return StringColumn.valueOf(readBytes(length));
+    }
+
+    public int readSignedInt(int length) throws IOException {
+        switch (length) {
+            case 1:
+                ensure(1);
+                return this.buffer.get();
+            case 2:
+                ensure(2);
+                return this.buffer.getShort();
+            case 4:
+                ensure(4);
+                return this.buffer.getInt();
+            default:
+                int r = 0;
+                for (int i = 0; i < length; ++i) {
+                    final int v = this.read();
+                    r |= (v << (i << 3));
+                    if ((i == length - 1) && ((v & 0x80) == 0x80)) {
+                        for (int j = length; j < 4; j++) {
+                            r |= (255 << (j << 3));
+                        }
+                    }
+                }
+                return r;
+        }
+    }
+
+    public long readSignedLong(int length) throws IOException {
+        if (8 == length) {
+            ensure(8);
+            return this.buffer.getLong();
+        }
+        long r = 0;
+        for (int i = 0; i < length; ++i) {
+            final long v = this.read();
+            r |= (v << (i << 3));
+            if ((i == length - 1) && ((v & 0x80) == 0x80)) {
+                for (int j = length; j < 8; j++) {
+                    r |= (255 << (j << 3));
+                }
+            }
+        }
+        return r;
+    }
+
+    public int readInt(int length, boolean littleEndian) throws IOException {
+        if (littleEndian) {
+            switch (length) {
+                case 1:
+                    ensure(1);
+                    return this.buffer.get() & 0xFF;
+                case 2:
+                    ensure(2);
+                    return this.buffer.getShort() & 0xFFFF;
+                case 3:
+                    ensure(3);
+                    return (this.buffer.get() & 0xFF) | ((this.buffer.getShort() & 0xFFFF) << 8);
+                case 4:
+                    ensure(4);
+                    return this.buffer.getInt();
+                default:
+                    break;
+            }
+        }
+        int r = 0;
+        for (int i = 0; i < length; ++i) {
+            final int v = this.read();
+            if (littleEndian) {
+                r |= (v << (i << 3));
+            } else {
+                r = (r << 8) | v;
+            }
+        }
+        return r;
+    }
+
+    public long readLong(int length, boolean littleEndian) throws IOException {
+        if (littleEndian) {
+            switch (length) {
+                case 4:
+                    ensure(4);
+                    return this.buffer.getInt() & 0xFFFFFFFFL;
+                case 8:
+                    ensure(8);
+                    return this.buffer.getLong();
+                default:
+                    break;
+            }
+        }
+        long r = 0;
+        for (int i = 0; i < length; ++i) {
+            final long v = this.read();
+            if (littleEndian) {
+                r |= (v << (i << 3));
+            } else {
+                r = (r << 8) | v;
+            }
+        }
+        return r;
+    }
+
+    public BitColumn readBit(int length, boolean littleEndian) throws IOException {
+        byte[] bytes = readBytes((int) ((length + 7) >> 3));
+        if (!littleEndian) bytes = CodecUtils.toBigEndian(bytes);
+        return BitColumn.valueOf(length, bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // NOP
+    }
+
+    /**
+     * 限制可读取的字节数, 0表示读取到数据末尾
+     */
+    public void setReadLimit(final int limit) throws IOException {
+        this.limited = limit > 0;
+        this.buffer.limit(limited ? Math.min(this.end, this.buffer.position() + limit) : this.end);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.buffer.remaining();
+    }
+
+    public boolean hasMore() throws IOException {
+        return this.buffer.hasRemaining();
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        ensure(n);
+        this.buffer.position(this.buffer.position() + (int) n);
+        return n;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensure(1);
+        return this.buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte b[], final int off, final int len) throws IOException {
+        ensure(len);
+        this.buffer.get(b, off, len);
+        return len;
+    }
+
+    private void ensure(long n) throws IOException {
+        if (this.buffer.remaining() < n) {
+            throw limited ? new ExceedLimitException() : new EOFException();
+        }
+    }
+}
@@ -5,53 +5,71 @@ import io.mykit.data.monitor.mysql.binlog.impl.event.BinlogEventV4HeaderImpl;
 import io.mykit.data.monitor.mysql.common.util.MySQLConstants;
 import io.mykit.data.monitor.mysql.io.CRCException;
 import io.mykit.data.monitor.mysql.io.XInputStream;
-import io.mykit.data.monitor.mysql.io.impl.XInputStreamImpl;
+import io.mykit.data.monitor.mysql.io.impl.XByteBufferInputStream;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.zip.CRC32;
 
-public class EventInputStream extends XInputStreamImpl implements XInputStream {
+/**
+ * 每次读取一个完整的事件到复用的缓冲区, 事件体从缓冲区解析, 校验和按整个事件一次计算
+ */
+public class EventInputStream extends XByteBufferInputStream implements XInputStream {
+    private static final int HEADER_LENGTH = 19;
+    private static final int CHECKSUM_LENGTH = 4;
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    // 超过该大小的缓冲区在读取小事件时释放, 避免大事件长期占用内存
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024 * 1024;
+
     private final XInputStream dataStream;
     private boolean checksumEnabled = false;
-    private CRC32 crc = null;
+    // 是否校验校验和, 可信的本地链路可关闭
+    private boolean verifyChecksum = true;
+    private final CRC32 crc = new CRC32();
+    private byte[] event;
+    private ByteBuffer eventBuffer;
+    // 事件体结束位置(不含校验和)
+    private int bodyLength;
 
     public EventInputStream(XInputStream is) {
-        super((InputStream) is);
+        super(ByteBuffer.allocate(0));
         this.dataStream = is;
+        this.event = new byte[DEFAULT_BUFFER_SIZE];
+        this.eventBuffer = ByteBuffer.wrap(this.event);
     }
 
     public BinlogEventV4HeaderImpl getNextBinlogHeader() throws IOException {
         final BinlogEventV4HeaderImpl header = new BinlogEventV4HeaderImpl();
 
-        this.setReadLimit(0);
-
-        if (isChecksumEnabled()) {
-            crc = new CRC32();
-        } else
-            crc = null;
-
+        // 读取事件头
+        dataStream.read(this.event, 0, HEADER_LENGTH);
+        this.eventBuffer.clear();
+        this.eventBuffer.limit(HEADER_LENGTH);
+        setBuffer(this.eventBuffer);
 
         header.setTimestamp(readLong(4) * 1000L);
         header.setEventType(readInt(1));
         header.setServerId(readLong(4));
         header.setEventLength(readInt(4));
-
-        // setup the total event length; this is different than setReadLimit(),
-        // as setReadLimit refers to *packet* length.
-        long eventLimit = header.getEventLength() - 13;
-
-        if (isChecksumEnabled() && header.getEventType() != MySQLConstants.FORMAT_DESCRIPTION_EVENT){
-            eventLimit -= 4;
-        }
-
-        // !! fixme re: int overflow
-        this.setReadLimit((int) eventLimit);
-
         header.setNextPosition(readLong(4));
         header.setFlags(readInt(2));
         header.setTimestampOfReceipt(System.currentTimeMillis());
 
+        // 读取事件体(含校验和)
+        // !! fixme re: int overflow
+        final int eventLength = (int) header.getEventLength();
+        ensureCapacity(eventLength);
+        dataStream.read(this.event, HEADER_LENGTH, eventLength - HEADER_LENGTH);
+
+        this.bodyLength = eventLength;
+        if (isChecksumEnabled() && header.getEventType() != MySQLConstants.FORMAT_DESCRIPTION_EVENT) {
+            this.bodyLength -= CHECKSUM_LENGTH;
+        }
+        this.eventBuffer.limit(eventLength);
+        this.eventBuffer.position(HEADER_LENGTH);
+        setBuffer(this.eventBuffer);
+        this.setReadLimit(this.bodyLength - HEADER_LENGTH);
+
         return header;
     }
 
@@ -63,6 +81,14 @@ public class EventInputStream extends XInputStreamImpl implements XInputStream {
         this.checksumEnabled = checksumEnabled;
     }
 
+    public boolean isVerifyChecksum() {
+        return verifyChecksum;
+    }
+
+    public void setVerifyChecksum(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
 
     public void finishEvent(BinlogEventV4HeaderImpl header) throws IOException {
         // Ensure the packet boundary
@@ -72,48 +98,39 @@ public class EventInputStream extends XInputStreamImpl implements XInputStream {
         }
 
         if (isChecksumEnabled() && header.getEventType() != MySQLConstants.FORMAT_DESCRIPTION_EVENT) {
-            long calculatedCRC = crc.getValue();
             this.setReadLimit(0);
-            Long checksum = this.readLong(4);
-            if (checksum.longValue() != calculatedCRC) {
+            long checksum = this.readLong(4);
+            if (!verifyChecksum) {
+                return;
+            }
+            // 复用校验对象, 整个事件一次计算
+            crc.reset();
+            crc.update(this.event, 0, this.bodyLength);
+            if (checksum != crc.getValue()) {
                 throw new CRCException(header);
             }
         }
     }
 
-    @Override
-    public long skip(final long n) throws IOException {
-        if (!isChecksumEnabled()) {
-            this.readCount += n;
-            return dataStream.skip(n);
-        } else {
-            byte b[] = new byte[(int) n];
-            // let read calculate the CRC
-            read(b, 0, (int) n);
-        }
-        return n;
-
-    }
-
-    @Override
-    public int read(final byte b[], int off, final int len) throws IOException {
-        this.readCount += len;
-        int ret = dataStream.read(b, off, len);
-
-        if (isChecksumEnabled() && crc != null) {
-            crc.update(b, off, len);
+    /**
+     * 缓冲区不足时扩容(保留已读取的事件头), 上次的大缓冲区在读取小事件时释放
+     */
+    private void ensureCapacity(int length) {
+        if (this.event.length < length) {
+            byte[] b = new byte[Math.max(length, this.event.length << 1)];
+            System.arraycopy(this.event, 0, b, 0, HEADER_LENGTH);
+            this.event = b;
+            this.eventBuffer = ByteBuffer.wrap(b);
+        } else if (this.event.length > MAX_RETAINED_BUFFER_SIZE && length <= DEFAULT_BUFFER_SIZE) {
+            byte[] b = new byte[DEFAULT_BUFFER_SIZE];
+            System.arraycopy(this.event, 0, b, 0, HEADER_LENGTH);
+            this.event = b;
+            this.eventBuffer = ByteBuffer.wrap(b);
         }
-
-        return ret;
     }
 
     @Override
-    public int read() throws IOException {
-        int b = dataStream.read();
-        this.readCount++;
-        if (isChecksumEnabled() && crc != null)
-            crc.update(b);
-
-        return b;
+    public void close() throws IOException {
+        this.dataStream.close();
     }
 }
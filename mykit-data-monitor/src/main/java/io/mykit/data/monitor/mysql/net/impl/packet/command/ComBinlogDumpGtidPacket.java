@@ -0,0 +1,109 @@
+package io.mykit.data.monitor.mysql.net.impl.packet.command;
+
+
+import io.mykit.data.monitor.mysql.common.glossary.GtidSet;
+import io.mykit.data.monitor.mysql.common.util.MySQLConstants;
+import io.mykit.data.monitor.mysql.common.util.ToStringBuilder;
+import io.mykit.data.monitor.mysql.io.util.XSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h3>COM_BINLOG_DUMP_GTID</h3>
+ * <pre>
+ *    +-------------------+
+ *    | 1B command        |
+ *    | 2B flags          |
+ *    | 4B server id      |
+ *    | 4B file name len  |
+ *    | nB file name      |
+ *    | 8B position       |
+ *    | 4B gtid data len  |
+ *    | nB gtid data      |
+ *    +-------------------+
+ * </pre>
+ */
+public class ComBinlogDumpGtidPacket extends AbstractCommandPacket {
+    private static final long serialVersionUID = 3178203862532563781L;
+
+    /**
+     * 按GTID定位
+     */
+    public static final int BINLOG_THROUGH_GTID = 0x04;
+
+    private int binlogFlag = BINLOG_THROUGH_GTID;
+    private long serverId;
+    private String binlogFileName = "";
+    private long binlogPosition = 4;
+    private GtidSet gtidSet;
+
+    public ComBinlogDumpGtidPacket() {
+        super(MySQLConstants.COM_BINLOG_DUMP_GTID);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("binlogFlag", binlogFlag)
+                .append("serverId", serverId)
+                .append("binlogFileName", binlogFileName)
+                .append("binlogPosition", binlogPosition)
+                .append("gtidSet", gtidSet).toString();
+    }
+
+    public byte[] getPacketBody() throws IOException {
+        final byte[] fileName = this.binlogFileName.getBytes(StandardCharsets.UTF_8);
+        final byte[] data = this.gtidSet.encode();
+        final XSerializer ps = new XSerializer();
+        ps.writeInt(this.command, 1);
+        ps.writeInt(this.binlogFlag, 2);
+        ps.writeLong(this.serverId, 4);
+        ps.writeInt(fileName.length, 4);
+        ps.writeBytes(fileName);
+        ps.writeLong(this.binlogPosition, 8);
+        ps.writeInt(data.length, 4);
+        ps.writeBytes(data);
+        return ps.toByteArray();
+    }
+
+    public int getBinlogFlag() {
+        return binlogFlag;
+    }
+
+    public void setBinlogFlag(int binlogFlag) {
+        this.binlogFlag = binlogFlag;
+    }
+
+    public long getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(long serverId) {
+        this.serverId = serverId;
+    }
+
+    public String getBinlogFileName() {
+        return binlogFileName;
+    }
+
+    public void setBinlogFileName(String binlogFileName) {
+        this.binlogFileName = binlogFileName;
+    }
+
+    public long getBinlogPosition() {
+        return binlogPosition;
+    }
+
+    public void setBinlogPosition(long binlogPosition) {
+        this.binlogPosition = binlogPosition;
+    }
+
+    public GtidSet getGtidSet() {
+        return gtidSet;
+    }
+
+    public void setGtidSet(GtidSet gtidSet) {
+        this.gtidSet = gtidSet;
+    }
+}
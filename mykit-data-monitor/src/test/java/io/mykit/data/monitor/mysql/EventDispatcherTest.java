@@ -0,0 +1,161 @@
+/**
+ * Copyright 2020-9999 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.mykit.data.monitor.mysql;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 增量事件分发测试
+ */
+public class EventDispatcherTest {
+
+    /**
+     * 两个通道时, 表a和表b进入不同的通道
+     */
+    private static final String TABLE_A = "a";
+    private static final String TABLE_B = "b";
+
+    private final List<Map<String, String>> committed = new CopyOnWriteArrayList<>();
+
+    private final List<Exception> errors = new CopyOnWriteArrayList<>();
+
+    private EventDispatcher dispatcher;
+
+    @After
+    public void stop() {
+        if (null != dispatcher) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    public void testCommitWithoutPendingEvents() {
+        dispatcher = newDispatcher(2);
+        dispatcher.checkpoint(position("1"));
+        Assert.assertEquals(Collections.singletonList(position("1")), committed);
+    }
+
+    @Test
+    public void testCommitAfterAllLanesPassed() throws InterruptedException {
+        dispatcher = newDispatcher(2);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        dispatcher.dispatch(TABLE_A, () -> await(blocked));
+        dispatcher.dispatch(TABLE_B, done::countDown);
+        dispatcher.checkpoint(position("1"));
+
+        // 通道b已处理完成, 通道a未完成时不提交
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        Assert.assertTrue(committed.isEmpty());
+
+        blocked.countDown();
+        waitCommitted(1);
+        Assert.assertEquals(position("1"), committed.get(0));
+    }
+
+    @Test
+    public void testCommitLatestPassedCheckpoint() throws InterruptedException {
+        dispatcher = newDispatcher(2);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        dispatcher.dispatch(TABLE_A, () -> await(blocked));
+        dispatcher.checkpoint(position("1"));
+        dispatcher.dispatch(TABLE_B, () -> {
+        });
+        dispatcher.checkpoint(position("2"));
+        Thread.sleep(100);
+        Assert.assertTrue(committed.isEmpty());
+
+        // 之前的增量点全部通过后只提交最新的
+        blocked.countDown();
+        waitCommitted(1);
+        Assert.assertEquals(position("2"), committed.get(committed.size() - 1));
+    }
+
+    @Test
+    public void testFailedTaskHoldsCheckpoint() throws InterruptedException {
+        dispatcher = newDispatcher(2);
+        dispatcher.dispatch(TABLE_A, () -> {
+            throw new IllegalStateException("write failed");
+        });
+        dispatcher.dispatch(TABLE_B, () -> {
+        });
+        dispatcher.checkpoint(position("1"));
+
+        waitError();
+        Assert.assertFalse(dispatcher.isRunning());
+        Assert.assertEquals(1, errors.size());
+
+        // 失败之后的增量点也不再提交
+        dispatcher.checkpoint(position("2"));
+        Thread.sleep(100);
+        Assert.assertTrue(committed.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDispatchAfterStop() {
+        dispatcher = newDispatcher(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        dispatcher.dispatch(TABLE_A, () -> await(blocked));
+        blocked.countDown();
+        dispatcher.stop();
+        // 队列已满时等待, 停止后不再分发
+        for (int i = 0; i < 2048; i++) {
+            dispatcher.dispatch(TABLE_A, () -> {
+            });
+        }
+    }
+
+    private EventDispatcher newDispatcher(int laneNum) {
+        return new EventDispatcher(laneNum, "test", errors::add, committed::add);
+    }
+
+    private Map<String, String> position(String position) {
+        return Collections.singletonMap("position", position);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitCommitted(int size) throws InterruptedException {
+        for (int i = 0; i < 500 && committed.size() < size; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(committed.size() >= size);
+    }
+
+    private void waitError() throws InterruptedException {
+        for (int i = 0; i < 500 && errors.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.mykit.data.monitor.mysql.common.glossary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GtidSetTest {
+
+    private static final String UUID_A = "3e11fa47-71ca-11e1-9e33-c80aa9429562";
+    private static final String UUID_B = "4e11fa47-71ca-11e1-9e33-c80aa9429562";
+
+    @Test
+    public void testParse() {
+        GtidSet set = new GtidSet("3E11FA47-71CA-11E1-9E33-C80AA9429562:1-5:7,\n 4E11FA47-71CA-11E1-9E33-C80AA9429562:1-3");
+        Assert.assertFalse(set.isEmpty());
+        Assert.assertEquals(UUID_A + ":1-5:7," + UUID_B + ":1-3", set.toString());
+    }
+
+    @Test
+    public void testParseBlank() {
+        Assert.assertTrue(new GtidSet("").isEmpty());
+        Assert.assertTrue(new GtidSet(null).isEmpty());
+        Assert.assertEquals("", new GtidSet().toString());
+    }
+
+    @Test
+    public void testParseMergeIntervals() {
+        // 重叠和相邻的区间合并
+        GtidSet set = new GtidSet(UUID_A + ":5-8:1-3:4:10-12:11");
+        Assert.assertEquals(UUID_A + ":1-8:10-12", set.toString());
+    }
+
+    @Test
+    public void testAdd() {
+        GtidSet set = new GtidSet(UUID_A + ":1-3:7");
+        set.add(UUID_A, 5);
+        Assert.assertEquals(UUID_A + ":1-3:5:7", set.toString());
+        // 填补间隔后与前后区间合并
+        set.add(UUID_A, 4);
+        set.add(UUID_A, 6);
+        Assert.assertEquals(UUID_A + ":1-7", set.toString());
+        // 已包含的事务
+        set.add(UUID_A, 2);
+        Assert.assertEquals(UUID_A + ":1-7", set.toString());
+    }
+
+    @Test
+    public void testAddSourceId() {
+        GtidSet set = new GtidSet();
+        byte[] sourceId = new byte[]{0x3e, 0x11, (byte) 0xfa, 0x47, 0x71, (byte) 0xca, 0x11, (byte) 0xe1,
+                (byte) 0x9e, 0x33, (byte) 0xc8, 0x0a, (byte) 0xa9, 0x42, (byte) 0x95, 0x62};
+        set.add(sourceId, 1);
+        set.add(UUID_A.toUpperCase(), 2);
+        set.add(UUID_B, 1);
+        Assert.assertEquals(UUID_A + ":1-2," + UUID_B + ":1", set.toString());
+    }
+
+    @Test
+    public void testEncode() {
+        GtidSet set = new GtidSet(UUID_A + ":1-5:7," + UUID_B + ":1-3");
+        byte[] b = set.encode();
+        // 8B uuid数 + (16B uuid + 8B 区间数 + 16B * 区间数) * uuid数
+        Assert.assertEquals(8 + (16 + 8 + 16 * 2) + (16 + 8 + 16), b.length);
+        Assert.assertEquals(2, readLong(b, 0));
+        Assert.assertEquals(0x3e, b[8] & 0xFF);
+        Assert.assertEquals(2, readLong(b, 24));
+        // 区间结束值不含
+        Assert.assertEquals(1, readLong(b, 32));
+        Assert.assertEquals(6, readLong(b, 40));
+        Assert.assertEquals(7, readLong(b, 48));
+        Assert.assertEquals(8, readLong(b, 56));
+    }
+
+    /**
+     * 小端序
+     */
+    private long readLong(byte[] b, int offset) {
+        long v = 0;
+        for (int i = 7; i >= 0; i--) {
+            v = (v << 8) | (b[offset + i] & 0xFF);
+        }
+        return v;
+    }
+}
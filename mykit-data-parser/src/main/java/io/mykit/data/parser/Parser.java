@@ -62,6 +62,27 @@ public interface Parser {
      */
     long getCount(String connectorId, Map<String, String> command);
 
+    /**
+     * 刷新连接器使用的连接池(连接配置变更时回收旧连接池)
+     *
+     * @param connector
+     */
+    void refreshConnector(Connector connector);
+
+    /**
+     * 关闭连接器使用的连接池
+     *
+     * @param connectorId
+     */
+    void closeConnector(String connectorId);
+
+    /**
+     * 回收驱动的写入配额(驱动删除时)
+     *
+     * @param metaId
+     */
+    void closeMeta(String metaId);
+
     /**
      * 解析连接器配置为Connector
      *
@@ -132,4 +153,21 @@ public interface Parser {
      * @param dataEvent
      */
     void execute(Mapping mapping, TableGroup tableGroup, DataEvent dataEvent);
+
+    /**
+     * 增量同步, 批量写入同一事件类型的连续数据
+     *
+     * @param mapping
+     * @param tableGroup
+     * @param dataEvents
+     */
+    void execute(Mapping mapping, TableGroup tableGroup, List<DataEvent> dataEvents);
+
+    /**
+     * 增量同步, 在目标源的同一个事务中按顺序写入源库事务的行变更
+     *
+     * @param mapping
+     * @param transaction 按顺序排列的<映射关系, 同一事件类型的连续数据>
+     */
+    void execute(Mapping mapping, List<Map.Entry<TableGroup, List<DataEvent>>> transaction);
 }
\ No newline at end of file
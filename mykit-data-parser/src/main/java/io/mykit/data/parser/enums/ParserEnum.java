@@ -8,7 +8,17 @@ public enum ParserEnum {
     /**
      * 页数
      */
-    PAGE_INDEX("pageIndex", "1");
+    PAGE_INDEX("pageIndex", "1"),
+
+    /**
+     * 游标(上一页最后一行的主键值, JSON数组)
+     */
+    CURSOR("cursor", ""),
+
+    /**
+     * 主键区间前缀, 例如range_0=[起始值, 结束值], 已完成的区间为空
+     */
+    RANGE("range_", "");
 
     /**
      * 编码
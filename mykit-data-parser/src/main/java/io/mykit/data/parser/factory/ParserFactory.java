@@ -6,6 +6,7 @@ import io.mykit.data.common.model.Result;
 import io.mykit.data.common.model.Task;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.common.utils.JsonUtils;
+import io.mykit.data.connector.WriterBatch;
 import io.mykit.data.connector.config.*;
 import io.mykit.data.connector.constants.ConnectorConstants;
 import io.mykit.data.connector.enums.ConnectorEnum;
@@ -19,9 +20,12 @@ import io.mykit.data.parser.enums.ConvertEnum;
 import io.mykit.data.parser.enums.ParserEnum;
 import io.mykit.data.parser.flush.FlushService;
 import io.mykit.data.parser.model.*;
+import io.mykit.data.parser.pipeline.Pipeline;
 import io.mykit.data.parser.utils.ConvertUtils;
+import io.mykit.data.parser.utils.CursorUtils;
 import io.mykit.data.parser.utils.PickerUtils;
 import io.mykit.data.plugins.factory.PluginFactory;
+import org.apache.commons.lang.StringUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -29,21 +33,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
 @Component
 public class ParserFactory implements Parser {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * 流水线每个队列最多缓存的页数
+     */
+    private static final int PIPELINE_CAPACITY = 2;
+
     @Autowired
     private ConnectorFactory connectorFactory;
 
@@ -59,6 +68,20 @@ public class ParserFactory implements Parser {
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private Executor writerExecutor;
+
+    @Autowired
+    private Executor rangeExecutor;
+
+    @Autowired
+    private Executor pipelineExecutor;
+
+    /**
+     * 写入配额 <驱动ID, 配额>
+     */
+    private final Map<String, WriterQuota> writerQuota = new ConcurrentHashMap<>();
+
     @Override
     public boolean alive(ConnectorConfig config) {
         return connectorFactory.isAlive(config);
@@ -97,6 +120,15 @@ public class ParserFactory implements Parser {
                 tTable.getColumn().add(m.getTarget());
             }
         });
+        // 补充未映射的数据源主键, 用于按主键游标分页
+        List<Field> sColumn = tableGroup.getSourceTable().getColumn();
+        if (!CollectionUtils.isEmpty(sColumn)) {
+            sColumn.forEach(f -> {
+                if (f.isPk() && sTable.getColumn().stream().noneMatch(c -> StringUtils.equals(c.getName(), f.getName()))) {
+                    sTable.getColumn().add(f);
+                }
+            });
+        }
         final CommandConfig sourceConfig = new CommandConfig(sType, sTable, tableGroup.getFilter());
         final CommandConfig targetConfig = new CommandConfig(tType, tTable);
         // 获取连接器同步参数
@@ -110,6 +142,22 @@ public class ParserFactory implements Parser {
         return connectorFactory.getCount(config, command);
     }
 
+    @Override
+    public void refreshConnector(Connector connector) {
+        Assert.notNull(connector, "Connector can not be null.");
+        connectorFactory.bind(connector.getId(), connector.getConfig());
+    }
+
+    @Override
+    public void closeConnector(String connectorId) {
+        connectorFactory.close(connectorId);
+    }
+
+    @Override
+    public void closeMeta(String metaId) {
+        writerQuota.remove(metaId);
+    }
+
     @Override
     public Connector parseConnector(String json) {
         try {
@@ -184,51 +232,47 @@ public class ParserFactory implements Parser {
         String sTableName = group.getSourceTable().getName();
         String tTableName = group.getTargetTable().getName();
         Assert.notEmpty(fieldMapping, String.format("数据源表[%s]同步到目标源表[%s], 映射关系不能为空.", sTableName, tTableName));
-        // 获取同步字段
-        Picker picker = new Picker();
-        PickerUtils.pickFields(picker, fieldMapping);
 
         // 检查分页参数
         Map<String, String> params = getMeta(metaId).getMap();
         params.putIfAbsent(ParserEnum.PAGE_INDEX.getCode(), ParserEnum.PAGE_INDEX.getDefaultValue());
+        params.putIfAbsent(ParserEnum.CURSOR.getCode(), ParserEnum.CURSOR.getDefaultValue());
         int pageSize = mapping.getReadNum();
         int threadSize = mapping.getThreadNum();
         int batchSize = mapping.getBatchNum();
-
-        for (; ; ) {
-            if (!task.isRunning()) {
-                logger.warn("任务被中止:{}", metaId);
-                break;
+        String event = getWriteEvent(mapping, command, ConnectorConstants.OPERTION_INSERT);
+
+        // 单主键表, 按主键区间拆分并发读取
+        Map<String, Object[]> ranges = getRanges(sConfig, command, params, mapping.getSplitNum(), pageSize);
+        if (null != ranges) {
+            // 全部区间已完成(停止在清除断点之前)时直接完成
+            if (!ranges.isEmpty()) {
+                executeRange(task, group, sConfig, tConfig, command, event, params, ranges, pageSize, threadSize, batchSize);
             }
-
-            // 1、获取数据源数据
-            int pageIndex = Integer.parseInt(params.get(ParserEnum.PAGE_INDEX.getCode()));
-            Result reader = connectorFactory.reader(sConfig, command, new ArrayList<>(), pageIndex, pageSize);
-            List<Map<String, Object>> data = reader.getData();
-            if (CollectionUtils.isEmpty(data)) {
-                params.clear();
+            if (task.isRunning()) {
+                synchronized (params) {
+                    params.clear();
+                }
                 logger.info("完成全量同步任务:{}, [{}] >> [{}]", metaId, sTableName, tTableName);
-                break;
             }
+            return;
+        }
 
-            // 2、映射字段
-            PickerUtils.pickData(picker, data);
-
-            // 3、参数转换
-            List<Map<String, Object>> target = picker.getTargetList();
-            ConvertUtils.convert(group.getConvert(), target);
-
-            // 4、插件转换
-            pluginFactory.convert(group.getPlugin(), data, target);
-
-            // 5、写入目标源
-            Result writer = writeBatch(tConfig, command, picker.getTargetFields(), target, threadSize, batchSize);
-
-            // 6、更新结果
-            flush(task, writer, target);
-
-            // 7、更新分页数
-            params.put(ParserEnum.PAGE_INDEX.getCode(), String.valueOf(++pageIndex));
+        // 读取、转换、写入流水线
+        Pipeline pipeline = getPipeline(metaId, task, group, tConfig, command, event, params, threadSize, batchSize);
+        pipeline.start();
+        try {
+            read(task, sConfig, command, group.getSourceTable(), params, pageSize, mapping.isStream(), pipeline);
+        } finally {
+            // 等待已读取的数据全部写入
+            pipeline.close();
+        }
+        if (null != pipeline.getError()) {
+            throw new ParserException(pipeline.getError().getMessage(), pipeline.getError());
+        }
+        if (task.isRunning()) {
+            params.clear();
+            logger.info("完成全量同步任务:{}, [{}] >> [{}]", metaId, sTableName, tTableName);
         }
     }
 
@@ -240,7 +284,7 @@ public class ParserFactory implements Parser {
         ConnectorConfig tConfig = getConnectorConfig(mapping.getTargetConnectorId());
         // 获取同步字段
         Picker picker = new Picker();
-        PickerUtils.pickFields(picker, tableGroup.getFieldMapping());
+        PickerUtils.pickFields(picker, tableGroup);
 
         // 1、映射字段
         String event = dataEvent.getEvent();
@@ -249,13 +293,14 @@ public class ParserFactory implements Parser {
 
         // 2、参数转换
         Map<String, Object> target = picker.getTarget();
-        ConvertUtils.convert(tableGroup.getConvert(), target);
+        ConvertUtils.convert(picker.getProjection(), target);
 
         // 3、插件转换
         pluginFactory.convert(tableGroup.getPlugin(), event, data, target);
 
         // 4、写入目标源
-        Result writer = connectorFactory.writer(tConfig, picker.getTargetFields(), tableGroup.getCommand(), event, target);
+        String writeEvent = getWriteEvent(mapping, tableGroup.getCommand(), event);
+        Result writer = connectorFactory.writer(tConfig, picker.getTargetFields(), tableGroup.getCommand(), writeEvent, target);
 
         // 5、更新结果
         List<Map<String, Object>> list = new ArrayList<>(1);
@@ -263,16 +308,321 @@ public class ParserFactory implements Parser {
         flush(metaId, writer, event, list);
     }
 
+    @Override
+    public void execute(Mapping mapping, TableGroup tableGroup, List<DataEvent> dataEvents) {
+        if (CollectionUtils.isEmpty(dataEvents)) {
+            return;
+        }
+        final String metaId = mapping.getMetaId();
+        final String event = dataEvents.get(0).getEvent();
+        logger.info("批量写入=> event:{}, size:{}", event, dataEvents.size());
+
+        ConnectorConfig tConfig = getConnectorConfig(mapping.getTargetConnectorId());
+        WriterBatch batch = pickBatch(mapping, tableGroup, dataEvents);
+
+        // 4、按顺序写入目标源(不拆分并行, 保证同一主键的变更顺序)
+        Result writer = connectorFactory.writer(tConfig, batch.getCommand(), batch.getEvent(), batch.getFields(), batch.getData());
+
+        // 5、更新结果
+        flush(metaId, writer, event, batch.getData());
+    }
+
+    @Override
+    public void execute(Mapping mapping, List<Map.Entry<TableGroup, List<DataEvent>>> transaction) {
+        if (CollectionUtils.isEmpty(transaction)) {
+            return;
+        }
+        final String metaId = mapping.getMetaId();
+        logger.info("事务写入=> size:{}", transaction.size());
+
+        ConnectorConfig tConfig = getConnectorConfig(mapping.getTargetConnectorId());
+        List<WriterBatch> batches = new ArrayList<>(transaction.size());
+        transaction.forEach(e -> batches.add(pickBatch(mapping, e.getKey(), e.getValue())));
+
+        // 4、在同一个事务中按顺序写入目标源, 任一批次失败时全部回滚
+        List<Result> writer = connectorFactory.writer(tConfig, batches);
+
+        // 5、更新结果
+        for (int i = 0; i < batches.size(); i++) {
+            flush(metaId, writer.get(i), transaction.get(i).getValue().get(0).getEvent(), batches.get(i).getData());
+        }
+    }
+
+    /**
+     * 转换同一事件类型的连续数据
+     *
+     * @param mapping
+     * @param tableGroup
+     * @param dataEvents
+     * @return
+     */
+    private WriterBatch pickBatch(Mapping mapping, TableGroup tableGroup, List<DataEvent> dataEvents) {
+        final String event = dataEvents.get(0).getEvent();
+        // 获取同步字段
+        Picker picker = new Picker();
+        PickerUtils.pickFields(picker, tableGroup);
+
+        // 1、映射字段
+        List<Map<String, Object>> data = new ArrayList<>(dataEvents.size());
+        dataEvents.forEach(e -> data.add(e.getData()));
+        PickerUtils.pickData(picker, data);
+
+        // 2、参数转换
+        List<Map<String, Object>> target = picker.getTargetList();
+        ConvertUtils.convert(picker.getProjection(), target);
+
+        // 3、插件转换
+        pluginFactory.convert(tableGroup.getPlugin(), data, target);
+
+        String writeEvent = getWriteEvent(mapping, tableGroup.getCommand(), event);
+        return new WriterBatch(tableGroup.getCommand(), writeEvent, picker.getTargetFields(), target);
+    }
+
     /**
-     * 更新缓存
+     * 获取写入事件, 开启插入或更新时, 新增和修改都按插入或更新写入, 重复执行不会失败
+     *
+     * @param mapping
+     * @param command
+     * @param event
+     * @return
+     */
+    private String getWriteEvent(Mapping mapping, Map<String, String> command, String event) {
+        boolean upsert = mapping.isUpsert() && null != command && command.containsKey(ConnectorConstants.OPERTION_UPSERT);
+        if (upsert && (StringUtils.equals(ConnectorConstants.OPERTION_INSERT, event) || StringUtils.equals(ConnectorConstants.OPERTION_UPDATE, event))) {
+            return ConnectorConstants.OPERTION_UPSERT;
+        }
+        return event;
+    }
+
+    /**
+     * 读取数据源数据, 交给流水线转换和写入, 每页写入完成后保存断点
      *
      * @param task
-     * @param writer
-     * @param data
+     * @param sConfig
+     * @param command
+     * @param table
+     * @param params
+     * @param pageSize
+     * @param stream   流式读取
+     * @param pipeline
      */
-    private void flush(Task task, Result writer, List<Map<String, Object>> data) {
-        flush(task.getId(), writer, ConnectorConstants.OPERTION_INSERT, data);
+    private void read(Task task, ConnectorConfig sConfig, Map<String, String> command, Table table, Map<String, String> params, int pageSize,
+                      boolean stream, Pipeline pipeline) {
+        final List<Field> cursorFields = getCursorFields(command, table);
+        // 开启流式读取且存在流式查询命令时, 按主键顺序流式读取, 只占用队列中数据的内存
+        if (stream && command.containsKey(ConnectorConstants.OPERTION_QUERY_STREAM)) {
+            connectorFactory.streamReader(sConfig, command, new ArrayList<>(), getCursor(params, cursorFields), pageSize, reader -> {
+                if (!task.isRunning()) {
+                    logger.warn("任务被中止:{}", task.getId());
+                    return false;
+                }
+                String cursor = CursorUtils.toJson(reader.getCursor());
+                return pipeline.put(new Page(reader.getData(), () -> params.put(ParserEnum.CURSOR.getCode(), cursor)));
+            });
+            return;
+        }
+
+        // 存在主键游标命令时按主键分页, 否则按页数分页
+        final boolean cursorMode = command.containsKey(ConnectorConstants.OPERTION_QUERY_CURSOR);
+        Object[] cursor = getCursor(params, cursorFields);
+        int pageIndex = Integer.parseInt(params.get(ParserEnum.PAGE_INDEX.getCode()));
+
+        for (; ; ) {
+            if (!task.isRunning()) {
+                logger.warn("任务被中止:{}", task.getId());
+                break;
+            }
+
+            // 1、获取数据源数据
+            Result reader = cursorMode ? connectorFactory.reader(sConfig, command, new ArrayList<>(), cursor, pageSize)
+                    : connectorFactory.reader(sConfig, command, new ArrayList<>(), pageIndex, pageSize);
+            List<Map<String, Object>> data = reader.getData();
+            if (CollectionUtils.isEmpty(data)) {
+                break;
+            }
 
+            // 2、交给流水线, 写入完成后更新分页数和游标
+            final String nextPageIndex = String.valueOf(++pageIndex);
+            final String nextCursor = cursorMode ? CursorUtils.toJson(reader.getCursor()) : null;
+            boolean accepted = pipeline.put(new Page(data, () -> {
+                params.put(ParserEnum.PAGE_INDEX.getCode(), nextPageIndex);
+                if (null != nextCursor) {
+                    params.put(ParserEnum.CURSOR.getCode(), nextCursor);
+                }
+            }));
+            if (!accepted) {
+                break;
+            }
+            cursor = reader.getCursor();
+        }
+    }
+
+    /**
+     * 创建流水线: 转换线程映射字段、参数转换、插件转换, 写入线程写入目标源后保存断点
+     *
+     * @param name
+     * @param task
+     * @param group
+     * @param tConfig
+     * @param command
+     * @param event
+     * @param params
+     * @param threadSize
+     * @param batchSize
+     * @return
+     */
+    private Pipeline getPipeline(String name, Task task, TableGroup group, ConnectorConfig tConfig, Map<String, String> command,
+                                 String event, Map<String, String> params, int threadSize, int batchSize) {
+        // 获取同步字段
+        final Picker picker = new Picker();
+        PickerUtils.pickFields(picker, group);
+        return new Pipeline(name, PIPELINE_CAPACITY, page -> {
+            List<Map<String, Object>> data = page.getData();
+            // 1、映射字段
+            PickerUtils.pickData(picker, data);
+
+            // 2、参数转换
+            List<Map<String, Object>> target = picker.getTargetList();
+            ConvertUtils.convert(picker.getProjection(), target);
+
+            // 3、插件转换
+            pluginFactory.convert(group.getPlugin(), data, target);
+            page.setTarget(target);
+        }, page -> {
+            // 4、写入目标源
+            List<Map<String, Object>> target = page.getTarget();
+            Result writer = writeBatch(task.getId(), tConfig, command, event, picker.getTargetFields(), target, threadSize, batchSize);
+
+            // 5、更新结果
+            flush(task.getId(), writer, event, target);
+
+            // 6、保存断点(按区间并发读取时, 多条流水线共用断点参数)
+            synchronized (params) {
+                page.getCheckpoint().run();
+                refresh(task);
+            }
+        }, pipelineExecutor);
+    }
+
+    /**
+     * 获取待读取的主键区间, 断点续传时从Meta恢复
+     * <p>不满足拆分条件(非单主键、主键非整数、数据量小于分片数*读取数、已按其他方式读取过)时返回null, 已拆分且全部区间已完成时返回空</p>
+     *
+     * @param sConfig
+     * @param command
+     * @param params
+     * @param splitNum
+     * @param pageSize
+     * @return <区间参数名, [起始值(不包含), 结束值(包含, 最后一个区间为null)]>
+     */
+    private Map<String, Object[]> getRanges(ConnectorConfig sConfig, Map<String, String> command, Map<String, String> params,
+                                            int splitNum, int pageSize) {
+        Map<String, Object[]> ranges = new LinkedHashMap<>();
+        // 断点续传
+        String prefix = ParserEnum.RANGE.getCode();
+        if (params.containsKey(prefix + 0)) {
+            for (int i = 0; params.containsKey(prefix + i); i++) {
+                String range = params.get(prefix + i);
+                // 已完成的区间
+                if (StringUtils.isNotBlank(range)) {
+                    ranges.put(prefix + i, JsonUtils.jsonToObj(range, Object[].class));
+                }
+            }
+            return ranges;
+        }
+
+        if (splitNum <= 1 || !command.containsKey(ConnectorConstants.OPERTION_QUERY_RANGE)) {
+            return null;
+        }
+        // 已按分页或游标读取过, 继续原方式
+        if (StringUtils.isNotBlank(params.get(ParserEnum.CURSOR.getCode()))
+                || !StringUtils.equals(ParserEnum.PAGE_INDEX.getDefaultValue(), params.get(ParserEnum.PAGE_INDEX.getCode()))) {
+            return null;
+        }
+        Object[] minMax = connectorFactory.getRange(sConfig, command);
+        if (null == minMax || !(minMax[0] instanceof Number) || !(minMax[1] instanceof Number)) {
+            return null;
+        }
+        long min = ((Number) minMax[0]).longValue();
+        long max = ((Number) minMax[1]).longValue();
+        long total = max - min + 1;
+        if (total <= (long) splitNum * pageSize) {
+            return null;
+        }
+
+        // 均分为splitNum个区间(start, end], 最后一个区间读取到表尾
+        long step = total % splitNum == 0 ? total / splitNum : total / splitNum + 1;
+        long start = min - 1;
+        for (int i = 0; i < splitNum; i++) {
+            Long end = i < splitNum - 1 ? start + step : null;
+            Object[] range = new Object[]{start, end};
+            ranges.put(prefix + i, range);
+            params.put(prefix + i, JsonUtils.objToJson(range));
+            start += step;
+        }
+        return ranges;
+    }
+
+    /**
+     * 按主键区间并发读取(共享分区读取线程池), 每个区间使用独立的连接, 写入后更新该区间的断点
+     *
+     * @param task
+     * @param group
+     * @param sConfig
+     * @param tConfig
+     * @param command
+     * @param event
+     * @param params
+     * @param ranges
+     * @param pageSize
+     * @param threadSize
+     * @param batchSize
+     */
+    private void executeRange(Task task, TableGroup group, ConnectorConfig sConfig, ConnectorConfig tConfig, Map<String, String> command,
+                              String event, Map<String, String> params, Map<String, Object[]> ranges, int pageSize, int threadSize, int batchSize) {
+        final StringBuffer error = new StringBuffer();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(ranges.size());
+        ranges.forEach((key, range) -> futures.add(CompletableFuture.runAsync(() -> {
+            // 每个区间使用独立的流水线
+            Pipeline pipeline = getPipeline(task.getId() + "-" + key, task, group, tConfig, command, event, params, threadSize, batchSize);
+            pipeline.start();
+            boolean success = false;
+            try {
+                connectorFactory.rangeReader(sConfig, command, range[0], range[1], pageSize, reader -> {
+                    if (!task.isRunning()) {
+                        return false;
+                    }
+                    // 写入完成后更新区间起始值
+                    String next = JsonUtils.objToJson(new Object[]{reader.getCursor()[0], range[1]});
+                    return pipeline.put(new Page(reader.getData(), () -> params.put(key, next)));
+                });
+                success = true;
+            } catch (Exception e) {
+                error.append(e.getMessage()).append("\r\n");
+                logger.error("区间读取失败:{}, {}", key, e.getMessage());
+            } finally {
+                pipeline.close();
+                if (null != pipeline.getError()) {
+                    error.append(pipeline.getError().getMessage()).append("\r\n");
+                } else if (success && task.isRunning()) {
+                    synchronized (params) {
+                        params.put(key, "");
+                    }
+                }
+            }
+        }, rangeExecutor)));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+        if (error.length() > 0) {
+            throw new ParserException(error.toString());
+        }
+    }
+
+    /**
+     * 发布刷新事件
+     *
+     * @param task
+     */
+    private void refresh(Task task) {
         // 发布刷新事件给FullExtractor
         task.setEndTime(Instant.now().toEpochMilli());
         applicationContext.publishEvent(new FullRefreshEvent(applicationContext, task));
@@ -310,6 +660,40 @@ public class ParserFactory implements Parser {
         return meta;
     }
 
+    /**
+     * 获取断点游标, 按主键字段类型还原
+     *
+     * @param params
+     * @param cursorFields
+     * @return 首页返回null
+     */
+    private Object[] getCursor(Map<String, String> params, List<Field> cursorFields) {
+        return CursorUtils.parse(params.get(ParserEnum.CURSOR.getCode()), cursorFields);
+    }
+
+    /**
+     * 获取游标主键字段, 按游标顺序, 字段不存在时为null
+     *
+     * @param command
+     * @param table
+     * @return
+     */
+    private List<Field> getCursorFields(Map<String, String> command, Table table) {
+        String[] primaryKeys = StringUtils.split(command.get(ConnectorConstants.OPERTION_QUERY_CURSOR_PK), ",");
+        List<Field> fields = new ArrayList<>();
+        if (null == primaryKeys) {
+            return fields;
+        }
+        for (String pk : primaryKeys) {
+            Field field = null;
+            if (null != table && null != table.getColumn()) {
+                field = table.getColumn().stream().filter(f -> StringUtils.equals(pk, f.getName())).findFirst().orElse(null);
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
     /**
      * 获取连接配置
      *
@@ -322,98 +706,89 @@ public class ParserFactory implements Parser {
         Assert.notNull(conn, "Connector can not be null.");
         Connector connector = new Connector();
         BeanUtils.copyProperties(conn, connector);
+        // 记录连接器使用的连接池
+        connectorFactory.bind(connectorId, connector.getConfig());
         return connector.getConfig();
     }
 
     /**
-     * 批量写入
+     * 批量写入, 按batchSize拆分后提交到共享的写入线程池
+     * <p>每个驱动同时写入的批次数不超过threadSize, 任一批次写完即可提交下一批</p>
      *
+     * @param metaId
      * @param config
      * @param command
+     * @param event
      * @param fields
      * @param target
      * @param threadSize
      * @param batchSize
      * @return
      */
-    private Result writeBatch(ConnectorConfig config, Map<String, String> command, List<Field> fields, List<Map<String, Object>> target,
-                              int threadSize, int batchSize) {
+    private Result writeBatch(String metaId, ConnectorConfig config, Map<String, String> command, String event, List<Field> fields,
+                              List<Map<String, Object>> target, int threadSize, int batchSize) {
         // 总数
         int total = target.size();
         // 单次任务
         if (total <= batchSize) {
-            return connectorFactory.writer(config, command, fields, target);
+            return connectorFactory.writer(config, command, event, fields, target);
         }
 
         // 批量任务, 拆分
-        int taskSize = total % batchSize == 0 ? total / batchSize : total / batchSize + 1;
-        threadSize = taskSize <= threadSize ? taskSize : threadSize;
-
-        // 转换为消息队列，根据batchSize获取数据，并发写入
-        Queue<Map<String, Object>> queue = new ConcurrentLinkedQueue<>(target);
-
-        // 创建线程池
-        final ThreadPoolTaskExecutor executor = getThreadPoolTaskExecutor(threadSize, taskSize - threadSize);
+        final Semaphore quota = getWriterQuota(metaId, threadSize);
         final Result result = new Result();
-        for (; ; ) {
-            if (taskSize <= 0) {
-                break;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < total; i += batchSize) {
+            final List<Map<String, Object>> data = new ArrayList<>(target.subList(i, Math.min(i + batchSize, total)));
+            try {
+                quota.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ParserException(e.getMessage(), e);
             }
-            // TODO 优化 CountDownLatch
-            final CountDownLatch latch = new CountDownLatch(threadSize);
-            for (int i = 0; i < threadSize; i++) {
-                executor.execute(() -> {
-                    try {
-                        Result w = parallelTask(batchSize, queue, config, command, fields);
-                        // CAS
+            futures.add(CompletableFuture.supplyAsync(() -> connectorFactory.writer(config, command, event, fields, data), writerExecutor)
+                    .handle((w, e) -> {
+                        quota.release();
+                        if (null != e) {
+                            result.getFailData().addAll(data);
+                            result.getFail().getAndAdd(data.size());
+                            result.getError().append(e.getMessage()).append("\r\n");
+                            return null;
+                        }
                         result.getFailData().addAll(w.getFailData());
                         result.getFail().getAndAdd(w.getFail().get());
                         result.getError().append(w.getError());
-                    } catch (Exception e) {
-                        result.getError().append(e.getMessage()).append("\r\n");
-                    } finally {
-                        latch.countDown();
-                    }
-                });
-            }
-            try {
-                latch.await();
-            } catch (InterruptedException e) {
-                logger.error(e.getMessage());
-            }
-
-            taskSize -= threadSize;
+                        return null;
+                    }));
         }
-
-        executor.shutdown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
         return result;
     }
 
-    private Result parallelTask(int batchSize, Queue<Map<String, Object>> queue, ConnectorConfig config, Map<String, String> command,
-                                List<Field> fields) {
-        List<Map<String, Object>> data = new ArrayList<>();
-        for (int j = 0; j < batchSize; j++) {
-            Map<String, Object> poll = queue.poll();
-            if (null == poll) {
-                break;
-            }
-            data.add(poll);
-        }
-        return connectorFactory.writer(config, command, fields, data);
+    /**
+     * 获取驱动的写入配额, 线程数变更后重新分配
+     *
+     * @param metaId
+     * @param threadSize
+     * @return
+     */
+    private Semaphore getWriterQuota(String metaId, int threadSize) {
+        final int permits = Math.max(1, threadSize);
+        WriterQuota quota = writerQuota.compute(metaId, (k, q) -> null != q && q.size == permits ? q : new WriterQuota(permits));
+        return quota.semaphore;
     }
 
-    private ThreadPoolTaskExecutor getThreadPoolTaskExecutor(int threadSize, int queueCapacity) {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(threadSize);
-        executor.setMaxPoolSize(threadSize);
-        executor.setQueueCapacity(queueCapacity);
-        executor.setKeepAliveSeconds(30);
-        executor.setAwaitTerminationSeconds(30);
-        executor.setThreadNamePrefix("ParserExecutor");
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
-        executor.initialize();
-        return executor;
+    /**
+     * 驱动写入配额, 同时写入的批次数不超过映射配置的线程数
+     */
+    private static final class WriterQuota {
+        private final int size;
+        private final Semaphore semaphore;
+
+        WriterQuota(int size) {
+            this.size = size;
+            this.semaphore = new Semaphore(size);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -44,6 +44,15 @@ public class Mapping extends AbstractConfigModel {
     // 线程数
     private int threadNum = 5;
 
+    // 读取分片数, 单主键表按主键区间拆分并发读取
+    private int splitNum = 1;
+
+    // 插入或更新, 目标源主键已存在时更新
+    private boolean upsert;
+
+    // 流式读取, 存在主键时按主键顺序流式读取, 否则按主键游标分页读取
+    private boolean stream;
+
     public String getSourceConnectorId() {
         return sourceConnectorId;
     }
@@ -130,4 +139,31 @@ public class Mapping extends AbstractConfigModel {
         return this;
     }
 
-}
\ No newline at end of file
+    public int getSplitNum() {
+        return splitNum;
+    }
+
+    public Mapping setSplitNum(int splitNum) {
+        this.splitNum = splitNum;
+        return this;
+    }
+
+    public boolean isUpsert() {
+        return upsert;
+    }
+
+    public Mapping setUpsert(boolean upsert) {
+        this.upsert = upsert;
+        return this;
+    }
+
+    public boolean isStream() {
+        return stream;
+    }
+
+    public Mapping setStream(boolean stream) {
+        this.stream = stream;
+        return this;
+    }
+
+}
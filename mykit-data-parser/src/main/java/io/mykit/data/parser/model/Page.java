@@ -0,0 +1,40 @@
+package io.mykit.data.parser.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>全量同步流水线中的一页数据</p>
+ * <pre>
+ *     读取: 数据源数据 + 断点
+ *     转换: 目标源数据
+ *     写入: 写入完成后保存断点
+ * </pre>
+ */
+public final class Page {
+
+    private List<Map<String, Object>> data;
+    private List<Map<String, Object>> target;
+    private Runnable checkpoint;
+
+    public Page(List<Map<String, Object>> data, Runnable checkpoint) {
+        this.data = data;
+        this.checkpoint = checkpoint;
+    }
+
+    public List<Map<String, Object>> getData() {
+        return data;
+    }
+
+    public List<Map<String, Object>> getTarget() {
+        return target;
+    }
+
+    public void setTarget(List<Map<String, Object>> target) {
+        this.target = target;
+    }
+
+    public Runnable getCheckpoint() {
+        return checkpoint;
+    }
+}
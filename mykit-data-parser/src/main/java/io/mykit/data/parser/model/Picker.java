@@ -12,6 +12,7 @@ public class Picker {
     private List<Field> targetFields;
     private List<Map<String, Object>> targetList;
     private Map<String, Object> target;
+    private Projection projection;
 
     public List<Field> getSourceFields() {
         return sourceFields;
@@ -44,4 +45,12 @@ public class Picker {
     public void setTarget(Map<String, Object> target) {
         this.target = target;
     }
-}
\ No newline at end of file
+
+    public Projection getProjection() {
+        return projection;
+    }
+
+    public void setProjection(Projection projection) {
+        this.projection = projection;
+    }
+}
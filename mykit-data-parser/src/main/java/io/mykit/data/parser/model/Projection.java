@@ -0,0 +1,169 @@
+package io.mykit.data.parser.model;
+
+import io.mykit.data.common.model.ArrayRow;
+import io.mykit.data.common.model.RowSchema;
+import io.mykit.data.common.utils.CollectionUtils;
+import io.mykit.data.connector.config.Field;
+import io.mykit.data.parser.convert.Handler;
+import io.mykit.data.parser.enums.ConvertEnum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>字段映射投影计划, 每个映射关系编译一次</p>
+ * <pre>
+ *     映射字段: 数据源字段下标 => 目标源字段下标
+ *     参数转换: 转换字段下标 + 转换处理器
+ * </pre>
+ * <p>映射关系的字段映射或转换配置变更后需重新编译</p>
+ */
+public final class Projection {
+
+    private final List<FieldMapping> fieldMapping;
+    private final List<Convert> convert;
+
+    private final List<Field> sourceFields;
+    private final List<Field> targetFields;
+
+    private final String[] sourceNames;
+    private final int[] targetIndex;
+    private final RowSchema targetSchema;
+
+    private final String[] convertNames;
+    private final int[] convertIndex;
+    private final String[] convertArgs;
+    private final Handler[] convertHandlers;
+
+    /**
+     * 数据源行结构对应的字段下标, 多线程共用, 整体替换
+     */
+    private volatile SourceIndex sourceIndex;
+
+    public Projection(List<FieldMapping> fieldMapping, List<Convert> convert) {
+        this.fieldMapping = fieldMapping;
+        this.convert = convert;
+
+        // 映射字段
+        List<Field> sFields = new ArrayList<>();
+        List<Field> tFields = new ArrayList<>();
+        if (!CollectionUtils.isEmpty(fieldMapping)) {
+            fieldMapping.stream().filter((m) -> m.getSource() != null && m.getTarget() != null).forEach(m -> {
+                sFields.add(m.getSource());
+                tFields.add(m.getTarget());
+            });
+        }
+        this.sourceFields = Collections.unmodifiableList(sFields);
+        this.targetFields = Collections.unmodifiableList(tFields);
+        final int size = sFields.size();
+        List<String> tNames = new ArrayList<>(size);
+        this.sourceNames = new String[size];
+        for (int k = 0; k < size; k++) {
+            sourceNames[k] = sFields.get(k).getName();
+            tNames.add(tFields.get(k).getName());
+        }
+        this.targetSchema = new RowSchema(tNames);
+        this.targetIndex = new int[size];
+        for (int k = 0; k < size; k++) {
+            targetIndex[k] = targetSchema.indexOf(tNames.get(k));
+        }
+
+        // 参数转换
+        final int cSize = CollectionUtils.isEmpty(convert) ? 0 : convert.size();
+        this.convertNames = new String[cSize];
+        this.convertIndex = new int[cSize];
+        this.convertArgs = new String[cSize];
+        this.convertHandlers = new Handler[cSize];
+        for (int i = 0; i < cSize; i++) {
+            Convert c = convert.get(i);
+            convertNames[i] = c.getName();
+            convertIndex[i] = targetSchema.indexOf(c.getName());
+            convertArgs[i] = c.getArgs();
+            convertHandlers[i] = ConvertEnum.getHandler(c.getConvertCode());
+        }
+    }
+
+    /**
+     * 编译时的字段映射和转换配置是否仍是映射关系当前的配置
+     *
+     * @param tableGroup
+     * @return
+     */
+    public boolean isCompiled(TableGroup tableGroup) {
+        return fieldMapping == tableGroup.getFieldMapping() && convert == tableGroup.getConvert();
+    }
+
+    /**
+     * 映射字段
+     *
+     * @param source 数据源行
+     * @return 目标源行
+     */
+    public ArrayRow pick(Map<String, Object> source) {
+        ArrayRow target = new ArrayRow(targetSchema);
+        if (source instanceof ArrayRow) {
+            ArrayRow row = (ArrayRow) source;
+            int[] index = getSourceIndex(row.getSchema());
+            for (int k = 0; k < sourceNames.length; k++) {
+                target.set(targetIndex[k], index[k] >= 0 ? row.get(index[k]) : row.get(sourceNames[k]));
+            }
+            return target;
+        }
+        for (int k = 0; k < sourceNames.length; k++) {
+            target.set(targetIndex[k], source.get(sourceNames[k]));
+        }
+        return target;
+    }
+
+    /**
+     * 参数转换
+     *
+     * @param row 目标源行
+     */
+    public void convert(Map<String, Object> row) {
+        if (0 == convertHandlers.length) {
+            return;
+        }
+        ArrayRow r = row instanceof ArrayRow && ((ArrayRow) row).getSchema() == targetSchema ? (ArrayRow) row : null;
+        for (int i = 0; i < convertHandlers.length; i++) {
+            if (null != r && convertIndex[i] >= 0) {
+                r.set(convertIndex[i], convertHandlers[i].handle(convertArgs[i], r.get(convertIndex[i])));
+                continue;
+            }
+            row.put(convertNames[i], convertHandlers[i].handle(convertArgs[i], row.get(convertNames[i])));
+        }
+    }
+
+    public List<Field> getSourceFields() {
+        return sourceFields;
+    }
+
+    public List<Field> getTargetFields() {
+        return targetFields;
+    }
+
+    private int[] getSourceIndex(RowSchema schema) {
+        SourceIndex si = sourceIndex;
+        if (null == si || si.schema != schema) {
+            int[] index = new int[sourceNames.length];
+            for (int k = 0; k < sourceNames.length; k++) {
+                index[k] = schema.indexOf(sourceNames[k]);
+            }
+            si = new SourceIndex(schema, index);
+            sourceIndex = si;
+        }
+        return si.index;
+    }
+
+    private static final class SourceIndex {
+        private final RowSchema schema;
+        private final int[] index;
+
+        SourceIndex(RowSchema schema, int[] index) {
+            this.schema = schema;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.mykit.data.parser.pipeline;
+
+import io.mykit.data.parser.model.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>全量同步流水线: 读取 -> 转换 -> 写入</p>
+ * <pre>
+ *     读取线程(调用方)通过有界队列交给转换线程, 转换线程再通过有界队列交给写入线程;
+ *     转换和写入在共享的流水线线程池中执行, 线程池已满时流水线失败;
+ *     队列满时上游阻塞(背压), 读取与写入重叠执行;
+ *     写入线程按页顺序写入, 每页写入完成后才保存该页的断点
+ * </pre>
+ */
+public final class Pipeline {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * 结束标记
+     */
+    private static final Page END = new Page(null, null);
+
+    /**
+     * 等待队列的间隔(毫秒), 用于检查流水线是否已失败
+     */
+    private static final long WAIT_MILLIS = 500;
+
+    private final String name;
+    private final BlockingQueue<Page> transformQueue;
+    private final BlockingQueue<Page> writeQueue;
+    private final Consumer<Page> transform;
+    private final Consumer<Page> write;
+    private final Executor executor;
+    private CompletableFuture<Void> transformer;
+    private CompletableFuture<Void> writer;
+    private volatile Exception error;
+
+    /**
+     * @param name      名称
+     * @param capacity  每个队列最多缓存的页数
+     * @param transform 转换
+     * @param write     写入
+     * @param executor  执行转换和写入的线程池
+     */
+    public Pipeline(String name, int capacity, Consumer<Page> transform, Consumer<Page> write, Executor executor) {
+        this.name = name;
+        this.transformQueue = new ArrayBlockingQueue<>(capacity);
+        this.writeQueue = new ArrayBlockingQueue<>(capacity);
+        this.transform = transform;
+        this.write = write;
+        this.executor = executor;
+    }
+
+    public void start() {
+        try {
+            transformer = CompletableFuture.runAsync(() -> run(transformQueue, writeQueue, transform), executor);
+            writer = CompletableFuture.runAsync(() -> run(writeQueue, null, write), executor);
+        } catch (RejectedExecutionException e) {
+            // 已启动的阶段检查到失败后退出
+            error = e;
+            logger.error("{}: 流水线线程池已满", name);
+        }
+    }
+
+    /**
+     * 提交一页数据, 队列满时阻塞
+     *
+     * @param page
+     * @return 流水线是否正常，true:是; false：否(已失败, 停止读取)
+     */
+    public boolean put(Page page) {
+        return offer(transformQueue, page);
+    }
+
+    /**
+     * 读取结束, 等待已提交的数据全部写入
+     */
+    public void close() {
+        offer(transformQueue, END);
+        join(transformer);
+        join(writer);
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    private void run(BlockingQueue<Page> in, BlockingQueue<Page> out, Consumer<Page> stage) {
+        try {
+            for (; ; ) {
+                Page page = in.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (null != error) {
+                    break;
+                }
+                if (null == page) {
+                    continue;
+                }
+                if (END != page) {
+                    stage.accept(page);
+                }
+                if (null != out && !offer(out, page)) {
+                    break;
+                }
+                if (END == page) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            error = e;
+            logger.error("{}: {}", name, e.getMessage());
+        }
+    }
+
+    private boolean offer(BlockingQueue<Page> queue, Page page) {
+        try {
+            while (null == error) {
+                if (queue.offer(page, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            error = e;
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void join(CompletableFuture<Void> stage) {
+        if (null != stage) {
+            stage.join();
+        }
+    }
+}
@@ -4,6 +4,7 @@ package io.mykit.data.parser.utils;
 import io.mykit.data.common.utils.CollectionUtils;
 import io.mykit.data.parser.enums.ConvertEnum;
 import io.mykit.data.parser.model.Convert;
+import io.mykit.data.parser.model.Projection;
 
 import java.util.List;
 import java.util.Map;
@@ -55,4 +56,29 @@ public abstract class ConvertUtils {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * 按投影计划转换参数(转换字段下标和处理器已预先解析)
+     *
+     * @param projection
+     * @param data
+     */
+    public static void convert(Projection projection, List<Map<String, Object>> data) {
+        if (null != projection && !CollectionUtils.isEmpty(data)) {
+            // 并行流计算
+            data.parallelStream().forEach(projection::convert);
+        }
+    }
+
+    /**
+     * 按投影计划转换参数
+     *
+     * @param projection
+     * @param row
+     */
+    public static void convert(Projection projection, Map<String, Object> row) {
+        if (null != projection && !CollectionUtils.isEmpty(row)) {
+            projection.convert(row);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package io.mykit.data.parser.utils;
+
+import io.mykit.data.common.utils.JsonUtils;
+import io.mykit.data.connector.config.Field;
+import org.apache.commons.lang.StringUtils;
+
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * @author binghe
+ * @version 1.0.0
+ * @description 主键游标断点
+ * <p>主键值按文本保存, 恢复时按主键字段类型还原, 时间和精确小数不会变为数字或丢失精度</p>
+ */
+public abstract class CursorUtils {
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 游标转为断点
+     *
+     * @param cursor 主键值
+     * @return
+     */
+    public static String toJson(Object[] cursor) {
+        if (null == cursor) {
+            return null;
+        }
+        String[] values = new String[cursor.length];
+        for (int i = 0; i < cursor.length; i++) {
+            values[i] = toText(cursor[i]);
+        }
+        return JsonUtils.objToJson(values);
+    }
+
+    /**
+     * 按主键字段类型还原游标, 兼容按原始值保存的断点
+     *
+     * @param json   断点
+     * @param fields 主键字段, 按游标顺序
+     * @return 没有断点返回null
+     */
+    public static Object[] parse(String json, List<Field> fields) {
+        if (StringUtils.isBlank(json)) {
+            return null;
+        }
+        Object[] values = JsonUtils.jsonToObj(json, Object[].class);
+        if (null == values) {
+            return null;
+        }
+        for (int i = 0; i < values.length && i < fields.size(); i++) {
+            Field field = fields.get(i);
+            if (null != field) {
+                values[i] = toValue(values[i], field.getType());
+            }
+        }
+        return values;
+    }
+
+    private static String toText(Object value) {
+        if (null == value) {
+            return null;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        }
+        if (value instanceof java.util.Date && !(value instanceof Timestamp) && !(value instanceof java.sql.Date) && !(value instanceof Time)) {
+            return new Timestamp(((java.util.Date) value).getTime()).toString();
+        }
+        return value.toString();
+    }
+
+    private static Object toValue(Object value, int type) {
+        if (null == value) {
+            return null;
+        }
+        final String text = value.toString();
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                // 超出long的无符号整数
+                BigDecimal number = new BigDecimal(text);
+                return number.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0 ? number.toBigInteger() : number.longValue();
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return new BigDecimal(text);
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Double.valueOf(text);
+            case Types.DATE:
+                return isMillis(value) ? new java.sql.Date(Long.parseLong(text)) : java.sql.Date.valueOf(text);
+            case Types.TIME:
+                return isMillis(value) ? new Time(Long.parseLong(text)) : Time.valueOf(text);
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                if (isMillis(value)) {
+                    return new Timestamp(Long.parseLong(text));
+                }
+                // LocalDateTime: 2020-01-01T10:00:00
+                return text.indexOf('T') > 0 ? Timestamp.valueOf(LocalDateTime.parse(text)) : Timestamp.valueOf(text);
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return value instanceof String ? Base64.getDecoder().decode(text) : value;
+            default:
+                return value instanceof Number ? value : text;
+        }
+    }
+
+    /**
+     * 按原始值保存的时间(毫秒数)
+     */
+    private static boolean isMillis(Object value) {
+        return value instanceof Number || StringUtils.isNumeric(value.toString());
+    }
+}
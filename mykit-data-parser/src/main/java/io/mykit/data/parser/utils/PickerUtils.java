@@ -7,13 +7,15 @@ import io.mykit.data.parser.model.*;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.BeanUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public abstract class PickerUtils {
 
+    /**
+     * 投影计划 <映射关系, 投影计划>, 映射关系实例回收后自动清除
+     */
+    private static final Map<TableGroup, Projection> PROJECTIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
     private PickerUtils() {
     }
 
@@ -48,34 +50,43 @@ public abstract class PickerUtils {
         return group;
     }
 
-    public static void pickFields(Picker picker, List<FieldMapping> fieldMapping) {
-        if (!CollectionUtils.isEmpty(fieldMapping)) {
-            List<Field> sFields = new ArrayList<>();
-            List<Field> tFields = new ArrayList<>();
-            fieldMapping.stream().filter((m) -> m.getSource() != null && m.getTarget() != null).forEach(m -> {
-                sFields.add(m.getSource());
-                tFields.add(m.getTarget());
-            });
-            picker.setSourceFields(sFields);
-            picker.setTargetFields(tFields);
+    /**
+     * 获取映射关系的投影计划, 首次使用时编译并缓存
+     * <p>字段映射或转换配置变更(编辑映射关系后重新合并配置)时重新编译</p>
+     *
+     * @param tableGroup
+     * @return
+     */
+    public static Projection getProjection(TableGroup tableGroup) {
+        Projection projection = PROJECTIONS.get(tableGroup);
+        if (null == projection || !projection.isCompiled(tableGroup)) {
+            projection = new Projection(tableGroup.getFieldMapping(), tableGroup.getConvert());
+            PROJECTIONS.put(tableGroup, projection);
         }
+        return projection;
+    }
+
+    public static void pickFields(Picker picker, TableGroup tableGroup) {
+        Projection projection = getProjection(tableGroup);
+        picker.setProjection(projection);
+        picker.setSourceFields(projection.getSourceFields());
+        picker.setTargetFields(projection.getTargetFields());
+    }
+
+    public static void pickFields(Picker picker, List<FieldMapping> fieldMapping) {
+        Projection projection = new Projection(fieldMapping, null);
+        picker.setProjection(projection);
+        picker.setSourceFields(projection.getSourceFields());
+        picker.setTargetFields(projection.getTargetFields());
     }
 
     public static void pickData(Picker picker, List<Map<String, Object>> data) {
         if (!CollectionUtils.isEmpty(data)) {
-            List<Map<String, Object>> target = new ArrayList<>();
-            List<Field> sFields = picker.getSourceFields();
-            List<Field> tFields = picker.getTargetFields();
-
+            final Projection projection = picker.getProjection();
             final int size = data.size();
-            final int sFieldSize = sFields.size();
-            Map<String, Object> row = null;
-            Map<String, Object> r = null;
+            List<Map<String, Object>> target = new ArrayList<>(size);
             for (int i = 0; i < size; i++) {
-                row = data.get(i);
-                r = new HashMap<>();
-                exchange(sFieldSize, sFields, tFields, row, r);
-                target.add(r);
+                target.add(projection.pick(data.get(i)));
             }
 
             picker.setTargetList(target);
@@ -84,12 +95,7 @@ public abstract class PickerUtils {
 
     public static void pickData(Picker picker, Map<String, Object> row) {
         if (!CollectionUtils.isEmpty(row)) {
-            Map<String, Object> target = new HashMap<>();
-            List<Field> sFields = picker.getSourceFields();
-            List<Field> tFields = picker.getTargetFields();
-
-            exchange(sFields.size(), sFields, tFields, row, target);
-            picker.setTarget(target);
+            picker.setTarget(picker.getProjection().pick(row));
         }
     }
 
@@ -99,21 +105,6 @@ public abstract class PickerUtils {
         return map;
     }
 
-    private static void exchange(int sFieldSize, List<Field> sFields, List<Field> tFields, Map<String, Object> source,
-                                 Map<String, Object> target) {
-        Field sField = null;
-        Field tField = null;
-        Object v = null;
-        for (int k = 0; k < sFieldSize; k++) {
-            sField = sFields.get(k);
-            tField = tFields.get(k);
-            if (null != sField && null != tField) {
-                v = source.get(sField.getName());
-                target.put(tField.getName(), v);
-            }
-        }
-    }
-
     private static void appendFieldMapping(Mapping mapping, TableGroup group) {
         final List<FieldMapping> fieldMapping = group.getFieldMapping();
 
@@ -160,4 +151,4 @@ public abstract class PickerUtils {
         }
     }
 
-}
\ No newline at end of file
+}
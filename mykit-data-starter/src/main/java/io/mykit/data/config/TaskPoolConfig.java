@@ -64,6 +64,63 @@ public class TaskPoolConfig {
         return executor;
     }
 
+    /**
+     * 全量同步写入线程池, 所有驱动共享, 每个驱动同时写入的批次数受驱动配置的线程数限制
+     */
+    @Bean("writerExecutor")
+    public Executor writerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(20);
+        executor.setMaxPoolSize(20);
+        executor.setQueueCapacity(1000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("writerExecutor");
+        // 队列满时由提交线程执行, 减缓读取速度
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 全量同步分区读取线程池, 所有驱动共享, 线程已满时区间排队等待
+     */
+    @Bean("rangeExecutor")
+    public Executor rangeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(10);
+        executor.setQueueCapacity(1000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("rangeExecutor");
+        // 队列满时由提交线程执行
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 全量同步流水线线程池, 每条流水线占用转换和写入两个线程直到读取结束
+     * <p>阶段之间互相等待, 不排队也不由提交线程执行, 线程已满时流水线失败</p>
+     */
+    @Bean("pipelineExecutor")
+    public Executor pipelineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(20);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("pipelineExecutor");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
     @Bean
     public TaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
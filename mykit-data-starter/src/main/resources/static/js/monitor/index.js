@@ -108,6 +108,40 @@ function showDataList(arr) {
     bindQueryDataDetailEvent();
 }
 
+// 刷新增量指标
+function bindQueryMetricsEvent() {
+    $("#queryMetricsBtn").click(function () {
+        doGetter('/monitor/queryMetrics', {}, function (data) {
+            if (data.success == true) {
+                showMetricsList(data.resultValue);
+            } else {
+                bootGrowl(data.resultValue, "danger");
+            }
+        });
+    });
+}
+
+function showMetricsList(arr) {
+    var size = arr.length;
+    var html = '';
+    for (i = 0; i < size; i++) {
+        var m = arr[i];
+        html += '<tr>';
+        html += '<td>' + (i + 1) + '</td>';
+        html += '<td>' + m.mappingName + '</td>';
+        html += '<td>' + m.lag + '</td>';
+        html += '<td>' + m.eventRate + '</td>';
+        html += '<td>' + m.byteRate + '</td>';
+        html += '<td>' + m.queueSize + (m.batchSize != null ? ' / ' + m.batchSize : '') + '</td>';
+        html += '<td>' + m.heartbeatCount + '</td>';
+        html += '<td>' + m.reconnectCount + '</td>';
+        html += '<td>' + m.downtime + '</td>';
+        html += '<td>' + m.fileName + ':' + m.position + '</td>';
+        html += '</tr>';
+    }
+    $("#metricsList").html(html);
+}
+
 // 查看日志
 function bindQueryLogEvent() {
     $("#queryLogBtn").click(function () {
@@ -149,6 +183,7 @@ $(function () {
         $initContainer.load('/monitor?id=' + $id);
     });
 
+    bindQueryMetricsEvent();
     bindQueryLogEvent();
     bindQueryDataEvent();
     bindQueryDataDetailEvent();